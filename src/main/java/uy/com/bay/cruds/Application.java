@@ -1,6 +1,7 @@
 package uy.com.bay.cruds;
 
 import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.component.page.Push;
 import com.vaadin.flow.theme.Theme;
 import javax.sql.DataSource;
 import org.springframework.boot.SpringApplication;
@@ -20,6 +21,7 @@ import uy.com.bay.cruds.data.SamplePersonRepository;
  */
 @SpringBootApplication
 @Theme(value = "cruds")
+@Push // Grid loads and sync results are pushed from background threads
 @EnableScheduling // Add this annotation
 public class Application implements AppShellConfigurator {
 
@@ -7,10 +7,50 @@ import org.springframework.context.annotation.Configuration;
 @ConfigurationProperties(prefix = "odoo")
 public class OdooConfig {
 
+    public static final int DEFAULT_PAGE_SIZE = 500;
+    public static final int DEFAULT_CONNECT_TIMEOUT_MS = 10_000;
+    public static final int DEFAULT_READ_TIMEOUT_MS = 60_000;
+    public static final int DEFAULT_MAX_CONNECTIONS = 10;
+    public static final int DEFAULT_SYNC_CONCURRENCY = 2;
+
+    public enum Protocol {
+        /** Odoo's /xmlrpc/2 endpoints. */
+        XMLRPC,
+        /** Odoo's /jsonrpc endpoint: smaller replies, parsed as a stream. */
+        JSONRPC
+    }
+
+    public enum Transport {
+        /** Pooled keep-alive Apache HttpClient shared by all Odoo clients. */
+        POOLED,
+        /** The XML-RPC library's own HttpURLConnection transport. */
+        DEFAULT
+    }
+
     private String url;
     private String db;
     private String username;
     private String password;
+    // Hours between full reconciliations; runs in between only fetch records changed since the last watermark
+    private int fullSyncIntervalHours = 24;
+    // Records requested per search_read call; bounds the memory held per page during a sync
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    // Models synced against Odoo at the same time; the rest wait for a free slot
+    private int syncConcurrency = DEFAULT_SYNC_CONCURRENCY;
+    private Protocol protocol = Protocol.XMLRPC;
+    private Transport transport = Transport.POOLED;
+    private int connectTimeoutMs = DEFAULT_CONNECT_TIMEOUT_MS;
+    // Upper bound for waiting on a reply; a slow Odoo fails the call instead of hanging the scheduler thread
+    private int readTimeoutMs = DEFAULT_READ_TIMEOUT_MS;
+    private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+    // Odoo does not decode compressed request bodies by itself; enable only behind a proxy that does
+    private boolean gzipRequests = false;
+    private boolean gzipResponses = true;
+    // Consecutive failed Odoo calls that open the circuit breaker
+    private int circuitFailureThreshold = 5;
+    // First open period; doubles after every failed probe up to circuitMaxOpenMs
+    private long circuitOpenMs = 30_000;
+    private long circuitMaxOpenMs = 600_000;
 
     // Getters
     public String getUrl() {
@@ -44,4 +84,108 @@ public class OdooConfig {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    public int getFullSyncIntervalHours() {
+        return fullSyncIntervalHours;
+    }
+
+    public void setFullSyncIntervalHours(int fullSyncIntervalHours) {
+        this.fullSyncIntervalHours = fullSyncIntervalHours;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public int getSyncConcurrency() {
+        return syncConcurrency;
+    }
+
+    public void setSyncConcurrency(int syncConcurrency) {
+        this.syncConcurrency = syncConcurrency;
+    }
+
+    public Protocol getProtocol() {
+        return protocol;
+    }
+
+    public void setProtocol(Protocol protocol) {
+        this.protocol = protocol;
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public void setTransport(Transport transport) {
+        this.transport = transport;
+    }
+
+    public int getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    public void setConnectTimeoutMs(int connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+    }
+
+    public int getReadTimeoutMs() {
+        return readTimeoutMs;
+    }
+
+    public void setReadTimeoutMs(int readTimeoutMs) {
+        this.readTimeoutMs = readTimeoutMs;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public boolean isGzipRequests() {
+        return gzipRequests;
+    }
+
+    public void setGzipRequests(boolean gzipRequests) {
+        this.gzipRequests = gzipRequests;
+    }
+
+    public boolean isGzipResponses() {
+        return gzipResponses;
+    }
+
+    public void setGzipResponses(boolean gzipResponses) {
+        this.gzipResponses = gzipResponses;
+    }
+
+    public int getCircuitFailureThreshold() {
+        return circuitFailureThreshold;
+    }
+
+    public void setCircuitFailureThreshold(int circuitFailureThreshold) {
+        this.circuitFailureThreshold = circuitFailureThreshold;
+    }
+
+    public long getCircuitOpenMs() {
+        return circuitOpenMs;
+    }
+
+    public void setCircuitOpenMs(long circuitOpenMs) {
+        this.circuitOpenMs = circuitOpenMs;
+    }
+
+    public long getCircuitMaxOpenMs() {
+        return circuitMaxOpenMs;
+    }
+
+    public void setCircuitMaxOpenMs(long circuitMaxOpenMs) {
+        this.circuitMaxOpenMs = circuitMaxOpenMs;
+    }
 }
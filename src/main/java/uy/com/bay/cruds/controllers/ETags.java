@@ -0,0 +1,24 @@
+package uy.com.bay.cruds.controllers;
+
+import java.util.Arrays;
+import uy.com.bay.cruds.data.TableVersion;
+
+/**
+ * Strong entity tags for conditional GETs, derived from versions instead of
+ * from the response body so that a {@code 304} costs one aggregate query.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /** Tag for a list response: the table version plus whatever selects the rows and their format. */
+    static String forList(TableVersion version, Object... requestParams) {
+        return "\"" + version.rowCount() + "-" + version.maxId() + "-" + version.versionSum() + "-"
+                + Integer.toHexString(Arrays.hashCode(requestParams)) + "\"";
+    }
+
+    static String forRow(Long id, int version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+}
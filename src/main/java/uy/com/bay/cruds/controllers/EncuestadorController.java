@@ -1,25 +1,118 @@
 package uy.com.bay.cruds.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import uy.com.bay.cruds.data.Encuestador;
+import uy.com.bay.cruds.data.EncuestadorDto;
+import uy.com.bay.cruds.services.EncuestadorImportService;
 import uy.com.bay.cruds.services.EncuestadorService;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
+/**
+ * Every GET answers {@code If-None-Match} with {@code 304 Not Modified}
+ * when the ETag still matches; list tags are checked before any row is read.
+ */
 @RestController
 @RequestMapping("/api/encuestadores")
 public class EncuestadorController {
 
+    /** Attributes accepted as filters and sort keys; each is indexed. */
+    private static final Set<String> FIELDS = Set.of("firstName", "lastName", "ci");
+
     private final EncuestadorService encuestadorService;
+    private final EncuestadorImportService importService;
+    private final ObjectMapper objectMapper;
 
-    public EncuestadorController(EncuestadorService encuestadorService) {
+    public EncuestadorController(EncuestadorService encuestadorService, EncuestadorImportService importService,
+            ObjectMapper objectMapper) {
         this.encuestadorService = encuestadorService;
+        this.importService = importService;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * Keyset-paginated list: {@code ?limit=100&after=<next of the previous page>},
+     * optionally filtered (see {@link ListParams}).
+     */
     @GetMapping
-    public List<Encuestador> getAllEncuestadores() {
-        return encuestadorService.findAll();
+    public KeysetPage<EncuestadorDto> getEncuestadores(@RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + KeysetPage.DEFAULT_LIMIT) int limit,
+            @RequestParam MultiValueMap<String, String> params, WebRequest request) {
+        int pageSize = KeysetPage.checkLimit(limit);
+        ListParams.rejectSort(params);
+        Specification<Encuestador> filter = ListParams.filter(params, FIELDS);
+        if (request.checkNotModified(ETags.forList(encuestadorService.tableVersion(), "page", params))) {
+            return null;
+        }
+        return KeysetPage.of(encuestadorService.listAfter(after, filter, pageSize + 1), pageSize,
+                EncuestadorDto::id);
+    }
+
+    /** Matching rows as newline-delimited JSON in constant memory ({@code Accept: application/x-ndjson}). */
+    @GetMapping(produces = Ndjson.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportEncuestadores(
+            @RequestParam MultiValueMap<String, String> params, WebRequest request) {
+        Specification<Encuestador> filter = ListParams.filter(params, FIELDS);
+        Sort sort = ListParams.sort(params, FIELDS);
+        if (request.checkNotModified(ETags.forList(encuestadorService.tableVersion(), "ndjson", params))) {
+            return null;
+        }
+        return Ndjson.<EncuestadorDto>stream(objectMapper,
+                action -> encuestadorService.forEach(filter, sort, action));
+    }
+
+    /** All matching rows as one JSON array, as before pagination ({@code ?all=true}). */
+    @GetMapping(params = "all=true")
+    public List<EncuestadorDto> getAllEncuestadores(@RequestParam MultiValueMap<String, String> params,
+            WebRequest request) {
+        Specification<Encuestador> filter = ListParams.filter(params, FIELDS);
+        Sort sort = ListParams.sort(params, FIELDS);
+        if (request.checkNotModified(ETags.forList(encuestadorService.tableVersion(), "all", params))) {
+            return null;
+        }
+        return encuestadorService.findAllDtos(filter, sort);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<EncuestadorDto> getEncuestador(@PathVariable Long id, WebRequest request) {
+        Optional<EncuestadorDto> encuestador = encuestadorService.getDto(id);
+        if (encuestador.isPresent()
+                && request.checkNotModified(ETags.forRow(encuestador.get().id(), encuestador.get().version()))) {
+            return null;
+        }
+        return ResponseEntity.of(encuestador);
+    }
+
+    /**
+     * Bulk creation from a JSON array; rows are read, validated and inserted
+     * as the body streams in. See {@link EncuestadorImportService.Result} for
+     * the per-row error report.
+     */
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public EncuestadorImportService.Result importJson(InputStream body) throws IOException {
+        return importService.importRows(ImportRows.fromJson(objectMapper, body));
+    }
+
+    /** Bulk creation from CSV with a {@code firstName,lastName,ci} header (comma or semicolon separated). */
+    @PostMapping(path = "/import", consumes = ImportRows.TEXT_CSV)
+    public EncuestadorImportService.Result importCsv(InputStream body) throws IOException {
+        return importService.importRows(ImportRows.fromCsv(body));
     }
 }
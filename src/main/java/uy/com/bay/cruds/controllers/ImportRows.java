@@ -0,0 +1,189 @@
+package uy.com.bay.cruds.controllers;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import uy.com.bay.cruds.services.EncuestadorImportService.Row;
+
+/**
+ * Incremental readers for the encuestador import body: each row is parsed
+ * only when the import asks for it, so the request is never held in memory.
+ * A malformed CSV header or a body that does not open a JSON array is a
+ * {@code 400}; damage further in surfaces as {@link UncheckedIOException} from
+ * the iterator, which the import reports as aborted.
+ */
+final class ImportRows {
+
+    static final String TEXT_CSV = "text/csv";
+
+    private ImportRows() {
+    }
+
+    /** A JSON array of {@code {"firstName": ..., "lastName": ..., "ci": ...}} objects. */
+    static Iterator<Row> fromJson(ObjectMapper objectMapper, InputStream body) throws IOException {
+        JsonParser parser = objectMapper.createParser(body);
+        JsonToken first;
+        try {
+            first = parser.nextToken();
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (first != JsonToken.START_ARRAY) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expected a JSON array of encuestadores");
+        }
+        return new Iterator<>() {
+            private long row;
+            // Read on the first hasNext, so damage right after '[' is reported like any other
+            private JsonToken next;
+            private boolean started;
+
+            @Override
+            public boolean hasNext() {
+                if (!started) {
+                    started = true;
+                    next = advance();
+                }
+                return next != null && next != JsonToken.END_ARRAY;
+            }
+
+            @Override
+            public Row next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    JsonNode node = parser.readValueAsTree();
+                    row++;
+                    next = advance();
+                    return new Row(row, text(node, "firstName"), text(node, "lastName"), text(node, "ci"));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            private JsonToken advance() {
+                try {
+                    return parser.nextToken();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * CSV with a header naming the {@code firstName}, {@code lastName} and
+     * {@code ci} columns in any order. Comma or semicolon separated (as
+     * spreadsheets export in Spanish locales); fields may be double-quoted.
+     */
+    static Iterator<Row> fromCsv(InputStream body) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Empty CSV");
+        }
+        header = header.replace("\uFEFF", ""); // byte order mark written by spreadsheet exports
+        char separator = header.indexOf(';') >= 0 && header.indexOf(',') < 0 ? ';' : ',';
+        List<String> columns = split(header, separator).stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        int firstName = column(columns, "firstname");
+        int lastName = column(columns, "lastname");
+        int ci = column(columns, "ci");
+        return new Iterator<>() {
+            private long line = 1;
+            private String next = read();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Row next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                List<String> fields = split(next, separator);
+                long row = line;
+                next = read();
+                return new Row(row, field(fields, firstName), field(fields, lastName), field(fields, ci));
+            }
+
+            private String read() {
+                try {
+                    String text;
+                    do {
+                        text = reader.readLine();
+                        line++;
+                    } while (text != null && text.isBlank());
+                    return text;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() || value.isContainerNode() ? null : value.asText();
+    }
+
+    private static int column(List<String> columns, String name) {
+        int index = columns.indexOf(name);
+        if (index < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "CSV header must name the firstName, lastName and ci columns");
+        }
+        return index;
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index) : null;
+    }
+
+    /** Splits one line; a quoted field may contain the separator and doubled quotes. */
+    static List<String> split(String line, char separator) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
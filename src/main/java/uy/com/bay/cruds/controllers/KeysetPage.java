@@ -0,0 +1,37 @@
+package uy.com.bay.cruds.controllers;
+
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * One page of a keyset-paginated list ordered by id. Pass {@code next} back
+ * as {@code after} to get the following page; it is {@code null} on the last
+ * page. Unlike OFFSET paging, every page costs one index range scan.
+ */
+public record KeysetPage<T>(List<T> items, Long next) {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    /** Validates the requested page size; rejects values below 1 and caps it at {@link #MAX_LIMIT}. */
+    public static int checkLimit(int limit) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be at least 1");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Builds a page from up to {@code limit + 1} rows: the extra row, if
+     * present, only tells that there is a next page.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, Long> idOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, idOf.apply(items.get(limit - 1)));
+    }
+}
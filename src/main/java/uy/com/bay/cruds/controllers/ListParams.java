@@ -0,0 +1,87 @@
+package uy.com.bay.cruds.controllers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ResponseStatusException;
+import uy.com.bay.cruds.services.FieldFilters;
+
+/**
+ * Filter and sort query parameters shared by the list endpoints:
+ * <ul>
+ * <li>{@code field=value}: equals</li>
+ * <li>{@code field.prefix=value}: starts with</li>
+ * <li>{@code field.contains=value}: contains (not index-backed)</li>
+ * <li>{@code sort=field} or {@code sort=field,desc}, repeatable; ties are broken by id</li>
+ * </ul>
+ * Repeated filters are combined with AND. Unknown fields are rejected rather
+ * than ignored, so a typo cannot silently return the whole table.
+ */
+final class ListParams {
+
+    static final String SORT = "sort";
+    private static final Set<String> RESERVED = Set.of("after", "limit", "all", SORT);
+
+    private ListParams() {
+    }
+
+    static <T> Specification<T> filter(MultiValueMap<String, String> params, Set<String> fields) {
+        List<Specification<T>> parts = new ArrayList<>();
+        for (Map.Entry<String, List<String>> param : params.entrySet()) {
+            String name = param.getKey();
+            if (RESERVED.contains(name)) {
+                continue;
+            }
+            int dot = name.indexOf('.');
+            String field = dot < 0 ? name : name.substring(0, dot);
+            String operator = dot < 0 ? "" : name.substring(dot + 1);
+            if (!fields.contains(field)) {
+                throw badRequest("Unknown filter field '" + field + "'; supported: " + fields);
+            }
+            for (String value : param.getValue()) {
+                parts.add(switch (operator) {
+                case "" -> FieldFilters.<T>equalTo(field, value);
+                case "prefix" -> FieldFilters.<T>startsWith(field, value);
+                case "contains" -> FieldFilters.<T>contains(field, value);
+                default -> throw badRequest("Unknown filter '" + name + "'; use field, field.prefix or field.contains");
+                });
+            }
+        }
+        return FieldFilters.allOf(parts);
+    }
+
+    static Sort sort(MultiValueMap<String, String> params, Set<String> fields) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String value : params.getOrDefault(SORT, List.of())) {
+            String[] parts = value.split(",");
+            String field = parts[0].trim();
+            if (!field.equals("id") && !fields.contains(field)) {
+                throw badRequest("Unknown sort field '" + field + "'; supported: id, " + fields);
+            }
+            Sort.Direction direction = Sort.Direction.ASC;
+            if (parts.length > 1) {
+                direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                        .orElseThrow(() -> badRequest("Sort direction must be asc or desc: '" + value + "'"));
+            }
+            orders.add(new Sort.Order(direction, field));
+        }
+        Sort sort = Sort.by(orders);
+        return sort.getOrderFor("id") == null ? sort.and(Sort.by("id")) : sort;
+    }
+
+    /** Keyset pages are always in id order, so they only accept filters. */
+    static void rejectSort(MultiValueMap<String, String> params) {
+        if (params.containsKey(SORT)) {
+            throw badRequest("sort is only supported with all=true or the NDJSON export; pages are ordered by id");
+        }
+    }
+
+    private static ResponseStatusException badRequest(String reason) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, reason);
+    }
+}
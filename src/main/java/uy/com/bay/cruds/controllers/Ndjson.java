@@ -0,0 +1,59 @@
+package uy.com.bay.cruds.controllers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Newline-delimited JSON responses written row by row with a single
+ * streaming generator, so nothing the size of the result is ever buffered.
+ */
+final class Ndjson {
+
+    static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private Ndjson() {
+    }
+
+    /**
+     * @param source
+     *            feeds every row to the given consumer, typically a service
+     *            method reading a repository stream in a read-only transaction
+     */
+    static <T> ResponseEntity<StreamingResponseBody> stream(ObjectMapper objectMapper,
+            Consumer<Consumer<T>> source) {
+        // The response is flushed as the buffer fills, not after every row
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+                int[] rows = { 0 };
+                try {
+                    source.accept(row -> {
+                        try {
+                            writer.writeValue(generator, row);
+                            rows[0]++;
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                if (rows[0] > 0) {
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+        // A bare StreamingResponseBody bypasses the message converters, so nothing else sets the type
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(MEDIA_TYPE)).body(body);
+    }
+}
@@ -0,0 +1,43 @@
+package uy.com.bay.cruds.controllers;
+
+import java.net.URI;
+import java.security.Principal;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import uy.com.bay.cruds.tasks.OdooSyncCoordinator;
+import uy.com.bay.cruds.tasks.OdooSyncRun;
+
+/**
+ * Starts the Odoo sync on demand and reports on runs. {@code POST} answers
+ * {@code 202 Accepted} with the run (new or joined) and its URL to poll.
+ */
+@RestController
+@RequestMapping("/api/sync/odoo")
+public class OdooSyncController {
+
+    private final OdooSyncCoordinator syncCoordinator;
+
+    public OdooSyncController(OdooSyncCoordinator syncCoordinator) {
+        this.syncCoordinator = syncCoordinator;
+    }
+
+    @PostMapping
+    public ResponseEntity<OdooSyncRun> triggerSync(Principal principal) {
+        OdooSyncRun run = syncCoordinator.requestSync(principal.getName());
+        return ResponseEntity.accepted().location(URI.create("/api/sync/odoo/" + run.getId())).body(run);
+    }
+
+    @GetMapping
+    public ResponseEntity<OdooSyncRun> getLatestRun() {
+        return ResponseEntity.of(syncCoordinator.latestRun());
+    }
+
+    @GetMapping("/{runId}")
+    public ResponseEntity<OdooSyncRun> getRun(@PathVariable String runId) {
+        return ResponseEntity.of(syncCoordinator.findRun(runId));
+    }
+}
@@ -1,27 +1,94 @@
 package uy.com.bay.cruds.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import uy.com.bay.cruds.data.Proyecto;
+import uy.com.bay.cruds.data.ProyectoDto;
 import uy.com.bay.cruds.services.ProyectoService;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
+/**
+ * Every GET answers {@code If-None-Match} with {@code 304 Not Modified}
+ * when the ETag still matches; list tags are checked before any row is read.
+ */
 @RestController
 @RequestMapping("/api/proyectos")
 public class ProyectoController {
 
+    /** Attributes accepted as filters and sort keys; each is indexed. */
+    private static final Set<String> FIELDS = Set.of("name", "alchemerId", "doobloId", "odooId");
+
     private final ProyectoService proyectoService;
+    private final ObjectMapper objectMapper;
 
     // Inyección por constructor (preferida)
-    public ProyectoController(ProyectoService proyectoService) {
+    public ProyectoController(ProyectoService proyectoService, ObjectMapper objectMapper) {
         this.proyectoService = proyectoService;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * Keyset-paginated list: {@code ?limit=100&after=<next of the previous page>},
+     * optionally filtered (see {@link ListParams}).
+     */
     @GetMapping
-    public List<Proyecto> getAllProyectos() {
-        return proyectoService.findAll();
+    public KeysetPage<ProyectoDto> getProyectos(@RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + KeysetPage.DEFAULT_LIMIT) int limit,
+            @RequestParam MultiValueMap<String, String> params, WebRequest request) {
+        int pageSize = KeysetPage.checkLimit(limit);
+        ListParams.rejectSort(params);
+        Specification<Proyecto> filter = ListParams.filter(params, FIELDS);
+        if (request.checkNotModified(ETags.forList(proyectoService.tableVersion(), "page", params))) {
+            return null;
+        }
+        return KeysetPage.of(proyectoService.listAfter(after, filter, pageSize + 1), pageSize, ProyectoDto::id);
+    }
+
+    /** Matching rows as newline-delimited JSON in constant memory ({@code Accept: application/x-ndjson}). */
+    @GetMapping(produces = Ndjson.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportProyectos(@RequestParam MultiValueMap<String, String> params,
+            WebRequest request) {
+        Specification<Proyecto> filter = ListParams.filter(params, FIELDS);
+        Sort sort = ListParams.sort(params, FIELDS);
+        if (request.checkNotModified(ETags.forList(proyectoService.tableVersion(), "ndjson", params))) {
+            return null;
+        }
+        return Ndjson.<ProyectoDto>stream(objectMapper, action -> proyectoService.forEach(filter, sort, action));
+    }
+
+    /** All matching rows as one JSON array, as before pagination ({@code ?all=true}). */
+    @GetMapping(params = "all=true")
+    public List<ProyectoDto> getAllProyectos(@RequestParam MultiValueMap<String, String> params,
+            WebRequest request) {
+        Specification<Proyecto> filter = ListParams.filter(params, FIELDS);
+        Sort sort = ListParams.sort(params, FIELDS);
+        if (request.checkNotModified(ETags.forList(proyectoService.tableVersion(), "all", params))) {
+            return null;
+        }
+        return proyectoService.findAllDtos(filter, sort);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ProyectoDto> getProyecto(@PathVariable Long id, WebRequest request) {
+        Optional<ProyectoDto> proyecto = proyectoService.getDto(id);
+        if (proyecto.isPresent()
+                && request.checkNotModified(ETags.forRow(proyecto.get().id(), proyecto.get().version()))) {
+            return null;
+        }
+        return ResponseEntity.of(proyecto);
     }
 }
@@ -10,8 +10,12 @@ import jakarta.persistence.Version;
 @MappedSuperclass
 public abstract class AbstractEntity {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // A pooled sequence (rather than IDENTITY) lets Hibernate assign ids up front and batch INSERTs
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idgenerator")
+    @SequenceGenerator(name = "idgenerator", initialValue = 1000, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Version
@@ -1,13 +1,32 @@
 package uy.com.bay.cruds.data;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
 
+// Back the REST equals/prefix filters, and the grid's prefix search on the folded columns
 @Entity
+@Table(indexes = { @Index(name = "idx_encuestador_first_name", columnList = "firstName"),
+        @Index(name = "idx_encuestador_last_name", columnList = "lastName"),
+        @Index(name = "idx_encuestador_ci", columnList = "ci"),
+        @Index(name = "idx_encuestador_first_name_search", columnList = "firstNameSearch"),
+        @Index(name = "idx_encuestador_last_name_search", columnList = "lastNameSearch"),
+        @Index(name = "idx_encuestador_ci_digits", columnList = "ciDigits") })
 public class Encuestador extends AbstractEntity {
 
     private String firstName;
     private String lastName;
     private String ci;
+    // Search forms of the columns above (see SearchText), kept in step on every save
+    @JsonIgnore
+    private String firstNameSearch;
+    @JsonIgnore
+    private String lastNameSearch;
+    @JsonIgnore
+    private String ciDigits;
 
     public String getFirstName() {
         return firstName;
@@ -27,5 +46,22 @@ public class Encuestador extends AbstractEntity {
     public void setCi(String ci) {
         this.ci = ci;
     }
+    public String getFirstNameSearch() {
+        return firstNameSearch;
+    }
+    public String getLastNameSearch() {
+        return lastNameSearch;
+    }
+    public String getCiDigits() {
+        return ciDigits;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void updateSearchColumns() {
+        firstNameSearch = SearchText.fold(firstName);
+        lastNameSearch = SearchText.fold(lastName);
+        ciDigits = SearchText.digits(ci);
+    }
 
 }
@@ -0,0 +1,11 @@
+package uy.com.bay.cruds.data;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Read-only view of an {@link Encuestador} for the REST API, built directly
+ * by JPQL constructor queries. The version is only carried for the ETag and
+ * is not serialized.
+ */
+public record EncuestadorDto(Long id, String firstName, String lastName, String ci, @JsonIgnore int version) {
+}
@@ -1,8 +1,26 @@
 package uy.com.bay.cruds.data;
 
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface EncuestadorRepository extends JpaRepository<Encuestador, Long>, JpaSpecificationExecutor<Encuestador> {
 
+    String SELECT_DTO = "select new uy.com.bay.cruds.data.EncuestadorDto(e.id, e.firstName, e.lastName, e.ci, "
+            + "e.version) from Encuestador e ";
+
+    @Query(SELECT_DTO + "where e.id = :id")
+    Optional<EncuestadorDto> findDtoById(@Param("id") Long id);
+
+    /** Rows saved before the search columns existed (or by a bulk update that bypassed them). */
+    @Query("select e from Encuestador e where (e.firstName is not null and e.firstNameSearch is null) "
+            + "or (e.lastName is not null and e.lastNameSearch is null) or (e.ci is not null and e.ciDigits is null)")
+    List<Encuestador> findWithoutSearchColumns(Pageable page);
+
+    @Query("select new uy.com.bay.cruds.data.TableVersion(count(e), max(e.id), sum(e.version)) from Encuestador e")
+    TableVersion findTableVersion();
 }
@@ -0,0 +1,48 @@
+package uy.com.bay.cruds.data;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Fills the search columns of encuestador rows stored before they existed,
+ * in batches of 500. Rows saved afterwards fill them on every save.
+ */
+@Component
+public class EncuestadorSearchInitializer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(EncuestadorSearchInitializer.class);
+    private static final int BATCH = 500;
+
+    private final EncuestadorRepository repository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public EncuestadorSearchInitializer(EncuestadorRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        int updated = 0;
+        List<Encuestador> batch;
+        while (!(batch = repository.findWithoutSearchColumns(PageRequest.ofSize(BATCH))).isEmpty()) {
+            batch.forEach(Encuestador::updateSearchColumns);
+            entityManager.flush();
+            entityManager.clear();
+            updated += batch.size();
+        }
+        if (updated > 0) {
+            logger.info("Filled search columns on {} encuestador row(s).", updated);
+        }
+    }
+}
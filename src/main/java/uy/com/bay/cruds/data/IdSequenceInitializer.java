@@ -0,0 +1,87 @@
+package uy.com.bay.cruds.data;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves the shared {@code idgenerator} sequence past the highest id already
+ * stored. Tables created while ids came from AUTO_INCREMENT columns may hold
+ * ids above the sequence's initial value, which would otherwise collide with
+ * the first ids handed out by the sequence.
+ * <p>
+ * Runs once all beans exist, before the web server and the schedulers start,
+ * so no request or sync can insert a row first. The sequence is read without
+ * drawing a value from it.
+ */
+@Component
+public class IdSequenceInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public IdSequenceInitializer(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> {
+            long maxId = maxStoredId();
+            // Hibernate's pooled optimizer hands out the block ending at the value it reads
+            long required = maxId + AbstractEntity.ID_ALLOCATION_SIZE;
+            if (isMariaDb()) {
+                // setval never moves a sequence backwards and returns null when it leaves it alone
+                Object set = entityManager.createNativeQuery("select setval(idgenerator, " + required + ")")
+                        .getSingleResult();
+                if (set != null) {
+                    logger.info("Moved id sequence to {} (highest stored id is {}).", required, maxId);
+                }
+                return;
+            }
+            // H2, for tests and local runs
+            Number next = (Number) entityManager
+                    .createNativeQuery("select base_value from information_schema.sequences "
+                            + "where sequence_name = 'IDGENERATOR'")
+                    .getSingleResult();
+            if (next.longValue() < required) {
+                logger.info("Restarting id sequence at {} (highest stored id is {}).", required, maxId);
+                entityManager.createNativeQuery("alter sequence idgenerator restart with " + required)
+                        .executeUpdate();
+            }
+        });
+    }
+
+    private long maxStoredId() {
+        long maxId = 0;
+        for (EntityType<?> entityType : entityManager.getMetamodel().getEntities()) {
+            if (!AbstractEntity.class.isAssignableFrom(entityType.getJavaType())) {
+                continue;
+            }
+            Long tableMax = entityManager
+                    .createQuery("select max(e.id) from " + entityType.getName() + " e", Long.class)
+                    .getSingleResult();
+            if (tableMax != null) {
+                maxId = Math.max(maxId, tableMax);
+            }
+        }
+        return maxId;
+    }
+
+    private boolean isMariaDb() {
+        return entityManager.unwrap(Session.class)
+                .doReturningWork(connection -> connection.getMetaData().getDatabaseProductName())
+                .equalsIgnoreCase("MariaDB");
+    }
+}
@@ -0,0 +1,72 @@
+package uy.com.bay.cruds.data;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import java.time.LocalDateTime;
+
+/**
+ * Cluster-wide lease for a scheduled job. A node may run the job for a slot
+ * only after atomically claiming this row for that slot, and only while no
+ * other node holds an unexpired lease. Runs outside the schedule claim the
+ * same row, so they never overlap a scheduled run, but do not use up a slot.
+ */
+@Entity
+public class JobLease extends AbstractEntity {
+
+    @Column(unique = true, nullable = false)
+    private String jobName;
+    // Node that claimed the lease last
+    private String owner;
+    // What the lease was last claimed for: a schedule slot, e.g. "2024-03-02T10:00:00Z", or a manual run
+    private String slot;
+    // Schedule slot last claimed; manual runs leave it alone so they never stand in for a scheduled run
+    private String scheduledSlot;
+    private LocalDateTime acquiredAt;
+    // The lease is free once this has passed, even if the owner never released it
+    private LocalDateTime expiresAt;
+    private LocalDateTime lastFinishedAt;
+
+    public String getJobName() {
+        return jobName;
+    }
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+    public String getOwner() {
+        return owner;
+    }
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+    public String getSlot() {
+        return slot;
+    }
+    public void setSlot(String slot) {
+        this.slot = slot;
+    }
+    public String getScheduledSlot() {
+        return scheduledSlot;
+    }
+    public void setScheduledSlot(String scheduledSlot) {
+        this.scheduledSlot = scheduledSlot;
+    }
+    public LocalDateTime getAcquiredAt() {
+        return acquiredAt;
+    }
+    public void setAcquiredAt(LocalDateTime acquiredAt) {
+        this.acquiredAt = acquiredAt;
+    }
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+    public LocalDateTime getLastFinishedAt() {
+        return lastFinishedAt;
+    }
+    public void setLastFinishedAt(LocalDateTime lastFinishedAt) {
+        this.lastFinishedAt = lastFinishedAt;
+    }
+
+}
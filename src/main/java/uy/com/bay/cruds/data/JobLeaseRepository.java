@@ -0,0 +1,76 @@
+package uy.com.bay.cruds.data;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface JobLeaseRepository extends JpaRepository<JobLease, Long> {
+
+    Optional<JobLease> findByJobName(String jobName);
+
+    boolean existsByJobName(String jobName);
+
+    /**
+     * Claims the lease for {@code slot} in a single conditional UPDATE, so of
+     * several nodes racing for the same slot exactly one gets a row count of 1.
+     */
+    @Transactional
+    @Modifying
+    @Query("update JobLease l set l.owner = :owner, l.slot = :slot, l.scheduledSlot = :slot, l.acquiredAt = :now, "
+            + "l.expiresAt = :expiresAt, l.version = l.version + 1 "
+            + "where l.jobName = :jobName and (l.scheduledSlot is null or l.scheduledSlot <> :slot) "
+            + "and (l.expiresAt is null or l.expiresAt < :now)")
+    int acquire(@Param("jobName") String jobName, @Param("owner") String owner, @Param("slot") String slot,
+            @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Claims the lease for a run outside the schedule, identified by
+     * {@code claim}; the last scheduled slot stays as it is.
+     */
+    @Transactional
+    @Modifying
+    @Query("update JobLease l set l.owner = :owner, l.slot = :claim, l.acquiredAt = :now, l.expiresAt = :expiresAt, "
+            + "l.version = l.version + 1 "
+            + "where l.jobName = :jobName and (l.expiresAt is null or l.expiresAt < :now)")
+    int acquireUnscheduled(@Param("jobName") String jobName, @Param("owner") String owner,
+            @Param("claim") String claim, @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Hands {@code slot} to the unscheduled run currently holding the lease,
+     * so the slot counts as run instead of being dropped while that run is in
+     * flight. Returns 0 if the slot was already run or no unscheduled run holds
+     * the lease.
+     */
+    @Transactional
+    @Modifying
+    @Query("update JobLease l set l.scheduledSlot = :slot, l.version = l.version + 1 "
+            + "where l.jobName = :jobName and (l.scheduledSlot is null or l.scheduledSlot <> :slot) "
+            + "and (l.scheduledSlot is null or l.slot <> l.scheduledSlot) and l.expiresAt >= :now")
+    int joinUnscheduled(@Param("jobName") String jobName, @Param("slot") String slot,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Pushes the expiry of a lease this owner still holds out to
+     * {@code expiresAt}. Returns 0 once the lease has expired or been claimed
+     * by another run.
+     */
+    @Transactional
+    @Modifying
+    @Query("update JobLease l set l.expiresAt = :expiresAt, l.version = l.version + 1 "
+            + "where l.jobName = :jobName and l.owner = :owner and l.slot = :slot and l.expiresAt >= :now")
+    int renew(@Param("jobName") String jobName, @Param("owner") String owner, @Param("slot") String slot,
+            @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /** Frees the lease early; the slot stays recorded so it is not run twice. */
+    @Transactional
+    @Modifying
+    @Query("update JobLease l set l.expiresAt = :now, l.lastFinishedAt = :now, l.version = l.version + 1 "
+            + "where l.jobName = :jobName and l.owner = :owner and l.slot = :slot")
+    int release(@Param("jobName") String jobName, @Param("owner") String owner, @Param("slot") String slot,
+            @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,12 @@
+package uy.com.bay.cruds.data;
+
+/**
+ * Projection of a synced row down to what the Odoo sync needs to tell new,
+ * unchanged and changed records apart.
+ */
+public interface OdooFingerprintView {
+
+    String getOdooId();
+
+    String getOdooFingerprint();
+}
@@ -0,0 +1,46 @@
+package uy.com.bay.cruds.data;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import java.time.LocalDateTime;
+
+/**
+ * Bookkeeping for an incremental Odoo sync: the highest {@code write_date}
+ * already processed and the moment of the last full reconciliation.
+ */
+@Entity
+public class OdooSyncState extends AbstractEntity {
+
+    @Column(unique = true, nullable = false)
+    private String syncName;
+    // Odoo write_date as returned by the API ("yyyy-MM-dd HH:mm:ss", UTC), compared lexicographically
+    private String lastWriteDate;
+    private LocalDateTime lastFullSyncAt;
+    private LocalDateTime lastRunAt;
+
+    public String getSyncName() {
+        return syncName;
+    }
+    public void setSyncName(String syncName) {
+        this.syncName = syncName;
+    }
+    public String getLastWriteDate() {
+        return lastWriteDate;
+    }
+    public void setLastWriteDate(String lastWriteDate) {
+        this.lastWriteDate = lastWriteDate;
+    }
+    public LocalDateTime getLastFullSyncAt() {
+        return lastFullSyncAt;
+    }
+    public void setLastFullSyncAt(LocalDateTime lastFullSyncAt) {
+        this.lastFullSyncAt = lastFullSyncAt;
+    }
+    public LocalDateTime getLastRunAt() {
+        return lastRunAt;
+    }
+    public void setLastRunAt(LocalDateTime lastRunAt) {
+        this.lastRunAt = lastRunAt;
+    }
+
+}
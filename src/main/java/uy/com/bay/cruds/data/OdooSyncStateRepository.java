@@ -0,0 +1,9 @@
+package uy.com.bay.cruds.data;
+
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OdooSyncStateRepository extends JpaRepository<OdooSyncState, Long> {
+
+    Optional<OdooSyncState> findBySyncName(String syncName);
+}
@@ -0,0 +1,16 @@
+package uy.com.bay.cruds.data;
+
+/**
+ * An entity whose rows mirror records of an Odoo model.
+ */
+public interface OdooSyncedEntity {
+
+    String getOdooId();
+
+    void setOdooId(String odooId);
+
+    /** Fingerprint of the Odoo content last written to this row. */
+    String getOdooFingerprint();
+
+    void setOdooFingerprint(String odooFingerprint);
+}
@@ -1,15 +1,29 @@
 package uy.com.bay.cruds.data;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 
+// Back the REST and grid equals/prefix filters (odooId is covered by its unique index)
 @Entity
-public class Proyecto extends AbstractEntity {
+@Table(indexes = { @Index(name = "idx_proyecto_name", columnList = "name"),
+        @Index(name = "idx_proyecto_alchemer_id", columnList = "alchemerId"),
+        @Index(name = "idx_proyecto_dooblo_id", columnList = "doobloId") })
+public class Proyecto extends AbstractEntity implements OdooSyncedEntity {
 
     private String name;
     private String alchemerId;
     private String doobloId;
+    // Unique index: one row per Odoo project, even when several syncs race
+    @Column(unique = true)
     private String odooId;
     private String obs;
+    // Fingerprint of the Odoo fields last written by the sync; lets unchanged records be skipped
+    @JsonIgnore
+    @Column(length = 16)
+    private String odooFingerprint;
 
     public String getName() {
         return name;
@@ -29,11 +43,14 @@ public class Proyecto extends AbstractEntity {
     public void setDoobloId(String doobloId) {
         this.doobloId = doobloId;
     }
+    @Override
     public String getOdooId() {
         return odooId;
     }
+    @Override
     public void setOdooId(String odooId) {
-        this.odooId = odooId;
+        // Blank ids (e.g. an empty form field) are stored as null, which the unique index allows many times
+        this.odooId = odooId == null || odooId.isBlank() ? null : odooId;
     }
     public String getObs() {
         return obs;
@@ -41,5 +58,13 @@ public class Proyecto extends AbstractEntity {
     public void setObs(String obs) {
         this.obs = obs;
     }
+    @Override
+    public String getOdooFingerprint() {
+        return odooFingerprint;
+    }
+    @Override
+    public void setOdooFingerprint(String odooFingerprint) {
+        this.odooFingerprint = odooFingerprint;
+    }
 
 }
@@ -0,0 +1,12 @@
+package uy.com.bay.cruds.data;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Read-only view of a {@link Proyecto} for the REST API, built directly by
+ * JPQL constructor queries so no entity is loaded or managed. The version is
+ * only carried for the ETag and is not serialized.
+ */
+public record ProyectoDto(Long id, String name, String alchemerId, String doobloId, String odooId, String obs,
+        @JsonIgnore int version) {
+}
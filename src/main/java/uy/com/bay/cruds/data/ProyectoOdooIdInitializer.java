@@ -0,0 +1,41 @@
+package uy.com.bay.cruds.data;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Prepares existing rows for the unique index on {@code proyecto.odoo_id}:
+ * blank ids saved by the form before they were stored as null are cleared,
+ * and remaining duplicates are reported. Schema update skips the index while
+ * either exists, so it is created on the first start after they are gone.
+ */
+@Component
+public class ProyectoOdooIdInitializer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProyectoOdooIdInitializer.class);
+
+    private final ProyectoRepository repository;
+
+    public ProyectoOdooIdInitializer(ProyectoRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        int cleared = repository.clearBlankOdooIds();
+        if (cleared > 0) {
+            logger.info("Cleared blank Odoo id on {} proyecto row(s).", cleared);
+        }
+        List<String> duplicates = repository.findDuplicateOdooIds();
+        if (!duplicates.isEmpty()) {
+            logger.warn("Odoo ids shared by several proyecto rows; merge them so the unique index can be created: {}",
+                    duplicates);
+        }
+    }
+}
@@ -1,8 +1,35 @@
 package uy.com.bay.cruds.data;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ProyectoRepository extends JpaRepository<Proyecto, Long>, JpaSpecificationExecutor<Proyecto> {
 
+    String SELECT_DTO = "select new uy.com.bay.cruds.data.ProyectoDto(p.id, p.name, p.alchemerId, p.doobloId, "
+            + "p.odooId, p.obs, p.version) from Proyecto p ";
+
+    List<Proyecto> findByOdooIdIn(Collection<String> odooIds);
+
+    @Query("select p.odooId as odooId, p.odooFingerprint as odooFingerprint from Proyecto p "
+            + "where p.odooId in :odooIds")
+    List<OdooFingerprintView> findFingerprintsByOdooIdIn(@Param("odooIds") Collection<String> odooIds);
+
+    @Modifying
+    @Query("update Proyecto p set p.odooId = null, p.version = p.version + 1 where trim(p.odooId) = ''")
+    int clearBlankOdooIds();
+
+    @Query("select p.odooId from Proyecto p where p.odooId is not null group by p.odooId having count(p) > 1")
+    List<String> findDuplicateOdooIds();
+
+    @Query(SELECT_DTO + "where p.id = :id")
+    Optional<ProyectoDto> findDtoById(@Param("id") Long id);
+
+    @Query("select new uy.com.bay.cruds.data.TableVersion(count(p), max(p.id), sum(p.version)) from Proyecto p")
+    TableVersion findTableVersion();
 }
@@ -0,0 +1,34 @@
+package uy.com.bay.cruds.data;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical forms stored next to searchable text columns, so that searches
+ * can be plain prefix matches on an index: "González " and "gonzalez" fold
+ * to the same value, and "1.234.567-8" keeps only its digits.
+ */
+public final class SearchText {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+
+    private SearchText() {
+    }
+
+    /** Accents stripped, lower case, runs of whitespace collapsed; {@code null} stays {@code null}. */
+    public static String fold(String text) {
+        if (text == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String unaccented = MARKS.matcher(decomposed).replaceAll("");
+        return SPACES.matcher(unaccented.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    public static String digits(String text) {
+        return text == null ? null : NON_DIGITS.matcher(text).replaceAll("");
+    }
+}
@@ -0,0 +1,9 @@
+package uy.com.bay.cruds.data;
+
+/**
+ * Cheap summary of a table's contents: any insert, update or delete changes
+ * at least one of the values (ids are never reused and every update bumps
+ * the row's {@code @Version}).
+ */
+public record TableVersion(Long rowCount, Long maxId, Long versionSum) {
+}
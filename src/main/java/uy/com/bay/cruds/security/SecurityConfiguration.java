@@ -2,6 +2,8 @@ package uy.com.bay.cruds.security;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.crypto.password.NoOpPasswordEncoder;
@@ -31,6 +33,18 @@ public class SecurityConfiguration extends VaadinWebSecurity {
         http.authorizeHttpRequests(authorize -> authorize
                 .requestMatchers(new AntPathRequestMatcher("/line-awesome/**/*.svg")).permitAll());
 
+        // Health probes stay open; metrics and the Prometheus scrape need an admin login (HTTP Basic for scrapers)
+        http.authorizeHttpRequests(authorize -> authorize
+                .requestMatchers(new AntPathRequestMatcher("/actuator/health/**")).permitAll()
+                .requestMatchers(new AntPathRequestMatcher("/actuator/**")).hasRole("ADMIN"));
+
+        // REST clients authenticate with HTTP Basic; their requests carry no session cookie to forge,
+        // so CSRF tokens are only skipped for those. Browser sessions keep CSRF protection on /api too.
+        http.httpBasic(Customizer.withDefaults());
+        http.csrf(csrf -> csrf.ignoringRequestMatchers(
+                request -> request.getRequestURI().startsWith(request.getContextPath() + "/api/")
+                        && request.getHeader(HttpHeaders.AUTHORIZATION) != null));
+
         super.configure(http);
         setLoginView(http, LoginView.class);
     }
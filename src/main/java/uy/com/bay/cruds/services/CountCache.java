@@ -0,0 +1,85 @@
+package uy.com.bay.cruds.services;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Short-lived row counts per entity and filter, so that grids refreshing or
+ * re-sorting with an unchanged filter do not repeat {@code COUNT} queries.
+ * The services invalidate an entity's counts on every committed write; the
+ * TTL bounds how long writes made by other nodes go unnoticed. Only filters
+ * with value equality (the {@link FieldFilters} records) are cached.
+ */
+@Component
+public class CountCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private record Key(Class<?> entity, Specification<?> filter, int limit) {
+    }
+
+    private record Entry(int count, long generation, long expiresAt) {
+    }
+
+    private final Map<Key, Entry> counts = new ConcurrentHashMap<>();
+    // Bumped by invalidate(); entries counted under an older generation are ignored
+    private final Map<Class<?>, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+
+    public CountCache(@Value("${counts.cache-ttl:30s}") Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * The cached result for {@code entity}, {@code filter} and
+     * {@code limit}, or the value of {@code counter}, which is then cached.
+     */
+    public int get(Class<?> entity, Specification<?> filter, int limit, IntSupplier counter) {
+        if (filter != null && !(filter instanceof Record)) {
+            return counter.getAsInt();
+        }
+        Key key = new Key(entity, filter, limit);
+        long generation = generationOf(entity).get();
+        Entry entry = counts.get(key);
+        if (entry != null && entry.generation() == generation && System.nanoTime() - entry.expiresAt() < 0) {
+            return entry.count();
+        }
+        int count = counter.getAsInt();
+        if (counts.size() >= MAX_ENTRIES) {
+            counts.clear();
+        }
+        counts.put(key, new Entry(count, generation, System.nanoTime() + ttlNanos));
+        return count;
+    }
+
+    /**
+     * Drops the counts of {@code entity} once the current transaction
+     * commits, or right away outside one; dropping them before the commit
+     * would let a concurrent count re-cache the old rows.
+     */
+    public void invalidate(Class<?> entity) {
+        AtomicLong generation = generationOf(entity);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generation.incrementAndGet();
+                }
+            });
+        } else {
+            generation.incrementAndGet();
+        }
+    }
+
+    private AtomicLong generationOf(Class<?> entity) {
+        return generations.computeIfAbsent(entity, e -> new AtomicLong());
+    }
+}
@@ -0,0 +1,114 @@
+package uy.com.bay.cruds.services;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+/**
+ * Criteria equivalent of a JPQL {@code select new} query: selects one entity
+ * attribute per component of the DTO record (matched by name), so filtered
+ * and sorted lists read only those columns and load no entities. Also holds
+ * the entity slices and capped count the grids use instead of a {@code Page}
+ * and its full {@code COUNT}.
+ */
+final class DtoQueries {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private DtoQueries() {
+    }
+
+    /** Up to {@code limit} rows, or all of them when {@code limit} is 0. */
+    static <E, D extends Record> List<D> list(EntityManager entityManager, Class<E> entityClass, Class<D> dtoClass,
+            Specification<E> filter, Sort sort, int limit) {
+        TypedQuery<D> query = create(entityManager, entityClass, dtoClass, filter, sort);
+        if (limit > 0) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+
+    /** Forward-only stream in batches of 500; must be consumed (and closed) inside a transaction. */
+    static <E, D extends Record> Stream<D> stream(EntityManager entityManager, Class<E> entityClass,
+            Class<D> dtoClass, Specification<E> filter, Sort sort) {
+        return create(entityManager, entityClass, dtoClass, filter, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private static <E, D extends Record> TypedQuery<D> create(EntityManager entityManager, Class<E> entityClass,
+            Class<D> dtoClass, Specification<E> filter, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<D> query = cb.createQuery(dtoClass);
+        Root<E> root = query.from(entityClass);
+        Selection<?>[] columns = Arrays.stream(dtoClass.getRecordComponents())
+                .map(RecordComponent::getName)
+                .map(root::get)
+                .toArray(Selection<?>[]::new);
+        query.select(cb.construct(dtoClass, columns));
+        where(query, root, cb, filter);
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+
+    /**
+     * One page of entities matching {@code filter}, reading one row past the
+     * page to tell whether another follows instead of counting them all.
+     */
+    static <E> Slice<E> slice(EntityManager entityManager, Class<E> entityClass, Specification<E> filter,
+            Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<E> query = cb.createQuery(entityClass);
+        Root<E> root = query.from(entityClass);
+        query.select(root);
+        where(query, root, cb, filter);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        TypedQuery<E> typedQuery = entityManager.createQuery(query);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(typedQuery.getResultList());
+        }
+        List<E> rows = typedQuery.setFirstResult(Math.toIntExact(pageable.getOffset()))
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    /**
+     * The number of rows matching {@code filter} if it is at most
+     * {@code limit}, otherwise {@code limit + 1}. Reads at most that many ids
+     * from the index, however many rows match.
+     */
+    static <E> int countUpTo(EntityManager entityManager, Class<E> entityClass, Specification<E> filter, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<E> root = query.from(entityClass);
+        query.select(root.<Long>get("id"));
+        where(query, root, cb, filter);
+        return entityManager.createQuery(query).setMaxResults(limit + 1).getResultList().size();
+    }
+
+    private static <E> void where(CriteriaQuery<?> query, Root<E> root, CriteriaBuilder cb, Specification<E> filter) {
+        if (filter != null) {
+            Predicate predicate = filter.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+    }
+}
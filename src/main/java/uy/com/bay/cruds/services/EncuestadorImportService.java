@@ -0,0 +1,172 @@
+package uy.com.bay.cruds.services;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import uy.com.bay.cruds.data.Encuestador;
+
+/**
+ * Bulk creation of encuestadores from a stream of rows. Rows are validated
+ * one by one and inserted in chunks, each chunk in its own transaction and
+ * sent as JDBC batches, so memory is bounded by the chunk size however long
+ * the input is. Invalid rows are reported and skipped; a chunk the database
+ * rejects is retried row by row so only the offending rows are lost.
+ */
+@Service
+public class EncuestadorImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EncuestadorImportService.class);
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_LENGTH = 255;
+    private static final Pattern CI = Pattern.compile("[0-9][0-9.\\- ]*");
+
+    /** One input row; {@code row} is its position in the input (1-based) for error reports. */
+    public record Row(long row, String firstName, String lastName, String ci) {
+    }
+
+    public record RowError(long row, String message) {
+    }
+
+    /**
+     * Outcome of an import. {@code errors} lists at most 1000 failures
+     * ({@code failed} counts all of them); {@code aborted} is set when the
+     * input itself could not be read to the end.
+     */
+    public record Result(long imported, long failed, List<RowError> errors, String aborted) {
+    }
+
+    private final TransactionTemplate transactionTemplate;
+    private final CountCache countCache;
+    private final SearchIndex searchIndex;
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public EncuestadorImportService(PlatformTransactionManager transactionManager, CountCache countCache,
+            SearchIndex searchIndex, @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.countCache = countCache;
+        this.searchIndex = searchIndex;
+        this.batchSize = batchSize;
+    }
+
+    /** Consumes {@code rows} to the end; a read failure stops the import but keeps the rows inserted so far. */
+    public Result importRows(Iterator<Row> rows) {
+        Progress progress = new Progress();
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        String aborted = null;
+        try {
+            while (rows.hasNext()) {
+                Row row = rows.next();
+                String error = validate(row);
+                if (error != null) {
+                    progress.fail(row.row(), error);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    insertChunk(chunk, progress);
+                    chunk.clear();
+                }
+            }
+        } catch (UncheckedIOException e) {
+            aborted = e.getMessage();
+            logger.warn("Encuestador import stopped after {} rows: {}", progress.imported + progress.failed,
+                    aborted);
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, progress);
+        }
+        logger.info("Encuestador import: {} imported, {} failed", progress.imported, progress.failed);
+        return new Result(progress.imported, progress.failed, progress.errors, aborted);
+    }
+
+    private void insertChunk(List<Row> chunk, Progress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(chunk));
+            progress.imported += chunk.size();
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            logger.debug("Import chunk rejected, retrying row by row", e);
+            for (Row row : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                    progress.imported++;
+                } catch (DataAccessException | PersistenceException | TransactionException rowFailure) {
+                    progress.fail(row.row(), NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+        countCache.invalidate(Encuestador.class);
+    }
+
+    private void insert(List<Row> rows) {
+        int pending = 0;
+        for (Row row : rows) {
+            Encuestador encuestador = new Encuestador();
+            encuestador.setFirstName(row.firstName().trim());
+            encuestador.setLastName(row.lastName().trim());
+            encuestador.setCi(row.ci().trim());
+            entityManager.persist(encuestador);
+            searchIndex.put(encuestador);
+            if (++pending == batchSize) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+    }
+
+    static String validate(Row row) {
+        if (isBlank(row.firstName())) {
+            return "firstName is required";
+        }
+        if (isBlank(row.lastName())) {
+            return "lastName is required";
+        }
+        if (isBlank(row.ci())) {
+            return "ci is required";
+        }
+        if (row.firstName().length() > MAX_LENGTH || row.lastName().length() > MAX_LENGTH
+                || row.ci().length() > MAX_LENGTH) {
+            return "values must be at most " + MAX_LENGTH + " characters";
+        }
+        if (!CI.matcher(row.ci().trim()).matches()) {
+            return "ci must contain only digits, dots and hyphens: '" + row.ci() + "'";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static final class Progress {
+        long imported;
+        long failed;
+        final List<RowError> errors = new ArrayList<>();
+
+        void fail(long row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(row, message));
+            }
+        }
+    }
+}
@@ -1,21 +1,39 @@
 package uy.com.bay.cruds.services;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import uy.com.bay.cruds.data.Encuestador;
+import uy.com.bay.cruds.data.EncuestadorDto;
 import uy.com.bay.cruds.data.EncuestadorRepository;
+import uy.com.bay.cruds.data.SearchText;
+import uy.com.bay.cruds.data.TableVersion;
 
 @Service
 public class EncuestadorService {
 
     private final EncuestadorRepository repository;
 
-    public EncuestadorService(EncuestadorRepository repository) {
+    private final CountCache countCache;
+    private final SearchIndex searchIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public EncuestadorService(EncuestadorRepository repository, CountCache countCache, SearchIndex searchIndex) {
         this.repository = repository;
+        this.countCache = countCache;
+        this.searchIndex = searchIndex;
     }
 
     public Optional<Encuestador> get(Long id) {
@@ -23,11 +41,16 @@ public class EncuestadorService {
     }
 
     public Encuestador save(Encuestador entity) {
-        return repository.save(entity);
+        Encuestador saved = repository.save(entity);
+        countCache.invalidate(Encuestador.class);
+        searchIndex.put(saved);
+        return saved;
     }
 
     public void delete(Long id) {
         repository.deleteById(id);
+        countCache.invalidate(Encuestador.class);
+        searchIndex.remove(SearchIndex.Kind.ENCUESTADOR, id);
     }
 
     public Page<Encuestador> list(Pageable pageable) {
@@ -42,6 +65,77 @@ public class EncuestadorService {
         return (int) repository.count();
     }
 
+    /**
+     * One page of rows without the {@code COUNT} a {@code Page} runs; the
+     * grids ask {@link #countUpTo(Specification, int)} separately, once per refresh.
+     */
+    public Slice<Encuestador> slice(Pageable pageable, Specification<Encuestador> filter) {
+        return DtoQueries.slice(entityManager, Encuestador.class, filter, pageable);
+    }
+
+    /** Exact count, cached per filter until the next write (see {@link CountCache}). */
+    public int count(Specification<Encuestador> filter) {
+        return countCache.get(Encuestador.class, filter, Integer.MAX_VALUE, () -> (int) repository.count(filter));
+    }
+
+    /** Exact count up to {@code limit}, otherwise {@code limit + 1}; cached like {@link #count(Specification)}. */
+    public int countUpTo(Specification<Encuestador> filter, int limit) {
+        return countCache.get(Encuestador.class, filter, limit,
+                () -> DtoQueries.countUpTo(entityManager, Encuestador.class, filter, limit));
+    }
+
+    /**
+     * Prefix search on the folded search columns: accent- and
+     * case-insensitive for the names, digits only for the CI, so "gonz"
+     * finds "González" and "1234567" finds "1.234.567-8". Blank arguments
+     * are ignored.
+     */
+    public Specification<Encuestador> search(String firstName, String lastName, String ci) {
+        return FieldFilters.allOf(
+                prefix("firstNameSearch", SearchText.fold(firstName)),
+                prefix("lastNameSearch", SearchText.fold(lastName)),
+                prefix("ciDigits", SearchText.digits(ci)));
+    }
+
+    private static Specification<Encuestador> prefix(String attribute, String value) {
+        return value == null || value.isEmpty() ? null : FieldFilters.startsWith(attribute, value);
+    }
+
+    public Optional<EncuestadorDto> getDto(Long id) {
+        return repository.findDtoById(id);
+    }
+
+    /**
+     * Up to {@code limit} rows matching {@code filter} with an id greater
+     * than {@code afterId} (all ids when {@code null}), in id order.
+     */
+    public List<EncuestadorDto> listAfter(Long afterId, Specification<Encuestador> filter, int limit) {
+        return DtoQueries.list(entityManager, Encuestador.class, EncuestadorDto.class,
+                FieldFilters.allOf(FieldFilters.idAfter(afterId), filter), Sort.by("id"), limit);
+    }
+
+    /**
+     * Hands every row matching {@code filter} to {@code action} in the given
+     * order, streaming from the database so memory stays flat however large
+     * the table is.
+     */
+    @Transactional(readOnly = true)
+    public void forEach(Specification<Encuestador> filter, Sort sort, Consumer<EncuestadorDto> action) {
+        try (Stream<EncuestadorDto> rows = DtoQueries.stream(entityManager, Encuestador.class, EncuestadorDto.class, filter,
+                sort)) {
+            rows.forEach(action);
+        }
+    }
+
+    public List<EncuestadorDto> findAllDtos(Specification<Encuestador> filter, Sort sort) {
+        return DtoQueries.list(entityManager, Encuestador.class, EncuestadorDto.class, filter, sort, 0);
+    }
+
+    /** Changes whenever any row is inserted, updated or deleted; see {@link TableVersion}. */
+    public TableVersion tableVersion() {
+        return repository.findTableVersion();
+    }
+
     public List<Encuestador> findAll() {
         return repository.findAll();
     }
@@ -0,0 +1,96 @@
+package uy.com.bay.cruds.services;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Single-attribute {@link Specification}s for the REST list filters and the
+ * grid filters. Prefix matches compile to {@code LIKE 'value%'}, which the
+ * column indexes can serve; contains matches have to scan.
+ * <p>
+ * The specifications are records rather than lambdas, so two filters built
+ * from the same values are equal and can key the {@link CountCache}.
+ */
+public final class FieldFilters {
+
+    // Not a backslash: MariaDB also treats that as an escape inside the SQL string literal
+    private static final char LIKE_ESCAPE = '!';
+
+    private enum Operator {
+        EQUAL, STARTS_WITH, CONTAINS
+    }
+
+    private record Match<T>(String attribute, Operator operator, String value) implements Specification<T> {
+
+        @Override
+        public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+            Path<String> path = root.get(attribute);
+            return switch (operator) {
+            case EQUAL -> cb.equal(path, value);
+            case STARTS_WITH -> cb.like(path, escapeLike(value) + "%", LIKE_ESCAPE);
+            case CONTAINS -> cb.like(path, "%" + escapeLike(value) + "%", LIKE_ESCAPE);
+            };
+        }
+    }
+
+    private record IdAfter<T>(Long afterId) implements Specification<T> {
+
+        @Override
+        public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+            return afterId == null ? null : cb.greaterThan(root.<Long>get("id"), afterId);
+        }
+    }
+
+    private record AllOf<T>(List<Specification<T>> parts) implements Specification<T> {
+
+        @Override
+        public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+            Predicate[] predicates = parts.stream()
+                    .map(part -> part.toPredicate(root, query, cb))
+                    .filter(Objects::nonNull)
+                    .toArray(Predicate[]::new);
+            return predicates.length == 0 ? null : cb.and(predicates);
+        }
+    }
+
+    private FieldFilters() {
+    }
+
+    public static <T> Specification<T> equalTo(String attribute, String value) {
+        return new Match<>(attribute, Operator.EQUAL, value);
+    }
+
+    public static <T> Specification<T> startsWith(String attribute, String value) {
+        return new Match<>(attribute, Operator.STARTS_WITH, value);
+    }
+
+    public static <T> Specification<T> contains(String attribute, String value) {
+        return new Match<>(attribute, Operator.CONTAINS, value);
+    }
+
+    /** Rows with an id greater than {@code afterId}; no restriction when it is {@code null}. */
+    public static <T> Specification<T> idAfter(Long afterId) {
+        return new IdAfter<>(afterId);
+    }
+
+    /** All of {@code parts}, skipping {@code null}s; matches every row when none is left. */
+    @SafeVarargs
+    public static <T> Specification<T> allOf(Specification<T>... parts) {
+        return allOf(Arrays.asList(parts));
+    }
+
+    public static <T> Specification<T> allOf(List<Specification<T>> parts) {
+        return new AllOf<>(parts.stream().filter(Objects::nonNull).toList());
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -0,0 +1,37 @@
+package uy.com.bay.cruds.services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+import uy.com.bay.cruds.data.JobLease;
+
+/**
+ * Shows who holds each job lease, for which slot and when the job last
+ * finished, under {@code /actuator/health/jobLeases}.
+ */
+@Component
+public class JobLeaseHealthIndicator implements HealthIndicator {
+
+    private final JobLeaseService jobLeaseService;
+
+    public JobLeaseHealthIndicator(JobLeaseService jobLeaseService) {
+        this.jobLeaseService = jobLeaseService;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = Health.up().withDetail("node", jobLeaseService.getNodeId());
+        for (JobLease lease : jobLeaseService.findAll()) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("owner", lease.getOwner());
+            details.put("slot", lease.getSlot());
+            details.put("scheduledSlot", lease.getScheduledSlot());
+            details.put("expiresAt", lease.getExpiresAt());
+            details.put("lastFinishedAt", lease.getLastFinishedAt());
+            health.withDetail(lease.getJobName(), details);
+        }
+        return health.build();
+    }
+}
@@ -0,0 +1,213 @@
+package uy.com.bay.cruds.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import uy.com.bay.cruds.data.JobLease;
+import uy.com.bay.cruds.data.JobLeaseRepository;
+
+/**
+ * Runs scheduled jobs at most once per schedule slot across all nodes that
+ * share the database. Leases expire after {@code jobs.lease-ttl}, so a node
+ * that dies mid-run does not block later slots. Long jobs keep their lease by
+ * calling {@link Lease#renew()} between units of work; the TTL should exceed
+ * the longest stretch between renewals and stay below the schedule interval.
+ */
+@Service
+public class JobLeaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobLeaseService.class);
+
+    private final JobLeaseRepository repository;
+    private final MeterRegistry meterRegistry;
+    private final Duration leaseTtl;
+    private final String nodeId;
+    private final Map<String, AtomicBoolean> held = new ConcurrentHashMap<>();
+
+    public JobLeaseService(JobLeaseRepository repository, MeterRegistry meterRegistry,
+            @Value("${jobs.lease-ttl:50m}") Duration leaseTtl, @Value("${jobs.node-id:}") String nodeId) {
+        this.repository = repository;
+        this.meterRegistry = meterRegistry;
+        this.leaseTtl = leaseTtl;
+        // pid@hostname unless configured
+        this.nodeId = nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Schedule slot {@code instant} belongs to: the nearest multiple of
+     * {@code interval}, so nodes whose clocks are a little apart still agree.
+     */
+    public static String slotOf(Instant instant, Duration interval) {
+        long millis = interval.toMillis();
+        long slotStart = Math.floorDiv(instant.toEpochMilli() + millis / 2, millis) * millis;
+        return Instant.ofEpochMilli(slotStart).toString();
+    }
+
+    /**
+     * Runs {@code job} if this node wins the lease for {@code slot}.
+     *
+     * If an unscheduled run holds the lease, the slot is handed to that run
+     * rather than dropped.
+     *
+     * @return {@code false} if the slot was already run or another node holds
+     *         the lease
+     */
+    public boolean runExclusively(String jobName, String slot, Consumer<Lease> job) {
+        ensureLease(jobName);
+        LocalDateTime now = LocalDateTime.now();
+        if (repository.acquire(jobName, nodeId, slot, now, now.plus(leaseTtl)) == 0) {
+            if (repository.joinUnscheduled(jobName, slot, now) > 0) {
+                // An on-demand run started before this slot fired; it covers the slot instead
+                logger.info("Job '{}' for slot {} joins the unscheduled run in flight.", jobName, slot);
+                countSkip(jobName, "joined");
+            } else {
+                logger.info("Skipping job '{}' for slot {}: already run or leased by another node.", jobName, slot);
+                countSkip(jobName, "taken");
+            }
+            return false;
+        }
+        run(jobName, slot, job);
+        return true;
+    }
+
+    /**
+     * Runs {@code job} now, outside the schedule, if no node holds the lease.
+     * {@code claim} names the run in the lease row; no schedule slot is used
+     * up, so the next scheduled run still happens.
+     *
+     * @return {@code false} if another node holds the lease
+     */
+    public boolean runUnscheduled(String jobName, String claim, Consumer<Lease> job) {
+        ensureLease(jobName);
+        LocalDateTime now = LocalDateTime.now();
+        if (repository.acquireUnscheduled(jobName, nodeId, claim, now, now.plus(leaseTtl)) == 0) {
+            logger.info("Skipping job '{}' ({}): leased by another node.", jobName, claim);
+            countSkip(jobName, "unscheduled");
+            return false;
+        }
+        run(jobName, claim, job);
+        return true;
+    }
+
+    private void run(String jobName, String slot, Consumer<Lease> job) {
+        logger.info("Node {} leased job '{}' for slot {}.", nodeId, jobName, slot);
+        AtomicBoolean heldFlag = held.get(jobName);
+        heldFlag.set(true);
+        try {
+            job.accept(new HeldLease(jobName, slot, LocalDateTime.now()));
+        } finally {
+            heldFlag.set(false);
+            if (repository.release(jobName, nodeId, slot, LocalDateTime.now()) == 0) {
+                logger.warn("Lease on job '{}' expired before node {} finished slot {}.", jobName, nodeId, slot);
+            }
+        }
+    }
+
+    /** The lease a running job holds. */
+    public interface Lease {
+
+        /**
+         * Extends the lease by another {@code jobs.lease-ttl}, at most every
+         * tenth of the TTL. Safe to call from several threads of the same run.
+         *
+         * @throws IllegalStateException
+         *             if the lease expired or was claimed by another run, so
+         *             the job must stop
+         */
+        void renew();
+    }
+
+    private class HeldLease implements Lease {
+
+        private final String jobName;
+        private final String slot;
+        private LocalDateTime renewedAt;
+
+        HeldLease(String jobName, String slot, LocalDateTime acquiredAt) {
+            this.jobName = jobName;
+            this.slot = slot;
+            this.renewedAt = acquiredAt;
+        }
+
+        @Override
+        public synchronized void renew() {
+            LocalDateTime now = LocalDateTime.now();
+            if (now.isBefore(renewedAt.plus(leaseTtl.dividedBy(10)))) {
+                return;
+            }
+            if (repository.renew(jobName, nodeId, slot, now, now.plus(leaseTtl)) == 0) {
+                logger.warn("Node {} lost the lease on job '{}' for slot {}; stopping the run.", nodeId, jobName,
+                        slot);
+                throw new IllegalStateException("Lease on job '" + jobName + "' for slot " + slot + " was lost");
+            }
+            renewedAt = now;
+        }
+    }
+
+    private void countSkip(String jobName, String reason) {
+        Counter.builder("jobs.lease.skipped")
+                .description("Runs this node did not start because the lease was taken")
+                .tag("job", jobName)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public List<JobLease> findAll() {
+        return repository.findAll();
+    }
+
+    private void ensureLease(String jobName) {
+        if (held.containsKey(jobName)) {
+            return;
+        }
+        if (!repository.existsByJobName(jobName)) {
+            JobLease lease = new JobLease();
+            lease.setJobName(jobName);
+            try {
+                repository.saveAndFlush(lease);
+            } catch (DataIntegrityViolationException e) {
+                logger.debug("Lease row for job '{}' was created by another node.", jobName);
+            }
+        }
+        held.computeIfAbsent(jobName, name -> {
+            AtomicBoolean flag = new AtomicBoolean();
+            Gauge.builder("jobs.lease.held", flag, f -> f.get() ? 1 : 0)
+                    .description("1 while this node holds the job's lease")
+                    .tag("job", name)
+                    .tag("node", nodeId)
+                    .register(meterRegistry);
+            Gauge.builder("jobs.lease.lag", this, service -> service.secondsSinceLastFinish(name))
+                    .description("Seconds since any node last finished the job")
+                    .baseUnit("seconds")
+                    .tag("job", name)
+                    .register(meterRegistry);
+            return flag;
+        });
+    }
+
+    private double secondsSinceLastFinish(String jobName) {
+        return repository.findByJobName(jobName)
+                .map(JobLease::getLastFinishedAt)
+                .map(finished -> (double) Duration.between(finished, LocalDateTime.now()).toSeconds())
+                .orElse(Double.NaN);
+    }
+}
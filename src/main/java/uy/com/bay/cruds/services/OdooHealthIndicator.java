@@ -0,0 +1,34 @@
+package uy.com.bay.cruds.services;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+import uy.com.bay.cruds.services.odoo.OdooCircuitBreaker;
+
+/**
+ * Reports the Odoo circuit breaker under {@code /actuator/health/odoo}. It
+ * does not call Odoo itself. The status stays UP while the circuit is open:
+ * the aggregate health is what the load balancer polls, and an outage of
+ * Odoo must not take the web nodes out of rotation. The state is in the
+ * details.
+ */
+@Component
+public class OdooHealthIndicator implements HealthIndicator {
+
+    private final OdooService odooService;
+
+    public OdooHealthIndicator(OdooService odooService) {
+        this.odooService = odooService;
+    }
+
+    @Override
+    public Health health() {
+        OdooCircuitBreaker circuitBreaker = odooService.getCircuitBreaker();
+        return Health.up()
+                .withDetail("circuit", circuitBreaker.getState())
+                .withDetail("consecutiveFailures", circuitBreaker.getConsecutiveFailures())
+                .withDetail("retryInSeconds", circuitBreaker.getRetryIn().toSeconds())
+                .withDetail("rejectedCalls", circuitBreaker.getRejectedCalls())
+                .build();
+    }
+}
@@ -1,21 +1,45 @@
 package uy.com.bay.cruds.services;
 
+import jakarta.annotation.PreDestroy;
 import uy.com.bay.cruds.config.OdooConfig;
+import uy.com.bay.cruds.services.odoo.OdooCircuitBreaker;
+import uy.com.bay.cruds.services.odoo.OdooHttpClientPool;
+import uy.com.bay.cruds.services.odoo.OdooJsonRpcClient;
+import uy.com.bay.cruds.services.odoo.OdooJsonRpcException;
+import uy.com.bay.cruds.services.odoo.OdooUnavailableException;
+import uy.com.bay.cruds.services.odoo.PooledXmlRpcTransportFactory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.core5.pool.PoolStats;
 import org.apache.xmlrpc.XmlRpcException;
 import org.apache.xmlrpc.client.XmlRpcClient;
+import org.apache.xmlrpc.client.XmlRpcClientException;
 import org.apache.xmlrpc.client.XmlRpcClientConfigImpl;
+import org.apache.xmlrpc.client.XmlRpcHttpTransportException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
 // java.util.Vector is not directly used in the provided code, so I'm omitting it for now.
 // If it's needed by a dependency or a future version, it can be added.
 
@@ -23,52 +47,372 @@ import java.util.Map;
 public class OdooService {
 
     private static final Logger logger = LoggerFactory.getLogger(OdooService.class);
+    // Fault code Odoo uses for odoo.exceptions.AccessDenied on the XML-RPC endpoints
+    private static final int ACCESS_DENIED_FAULT_CODE = 3;
+
     private final OdooConfig odooConfig;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary responseSize;
+    private final AtomicLong lastResponseBytes = new AtomicLong();
+    private final OdooCircuitBreaker circuitBreaker;
     private XmlRpcClient objectClient; // For model operations
     private XmlRpcClient commonClient; // For authentication
+    private OdooHttpClientPool httpClientPool; // Shared keep-alive connections, null with the default transport
+    private OdooJsonRpcClient jsonRpcClient; // Used instead of the XML-RPC clients when odoo.protocol=JSONRPC
+
+    // uid of the last successful login, reused until Odoo answers with an access-denied fault
+    private volatile Integer cachedUid;
+    private final ReentrantLock authLock = new ReentrantLock();
+    private final AtomicLong authCalls = new AtomicLong();
+    private final AtomicLong authCacheHits = new AtomicLong();
 
     public OdooService(OdooConfig odooConfig) {
+        this(odooConfig, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public OdooService(OdooConfig odooConfig, MeterRegistry meterRegistry) {
         this.odooConfig = odooConfig;
+        this.meterRegistry = meterRegistry;
+        this.responseSize = DistributionSummary.builder("odoo.rpc.response.size")
+                .description("Decoded size of Odoo RPC replies")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.circuitBreaker = new OdooCircuitBreaker(odooConfig.getCircuitFailureThreshold(),
+                Duration.ofMillis(odooConfig.getCircuitOpenMs()), Duration.ofMillis(odooConfig.getCircuitMaxOpenMs()));
         try {
-            XmlRpcClientConfigImpl commonConfig = new XmlRpcClientConfigImpl();
-            commonConfig.setServerURL(new URL(odooConfig.getUrl() + "/xmlrpc/2/common"));
-            logger.info("Odoo Common API URL configured: {}", commonConfig.getServerURL());
-            commonClient = new XmlRpcClient();
-            commonClient.setConfig(commonConfig);
-            // It's good practice to set connection and read timeouts
-            // commonConfig.setConnectionTimeout(60 * 1000); // 60 seconds
-            // commonConfig.setReplyTimeout(60 * 1000);     // 60 seconds
+            URL commonUrl = new URL(odooConfig.getUrl() + "/xmlrpc/2/common");
+            URL objectUrl = new URL(odooConfig.getUrl() + "/xmlrpc/2/object");
+
+            int connectTimeout = positiveOr(odooConfig.getConnectTimeoutMs(), OdooConfig.DEFAULT_CONNECT_TIMEOUT_MS);
+            int readTimeout = positiveOr(odooConfig.getReadTimeoutMs(), OdooConfig.DEFAULT_READ_TIMEOUT_MS);
+            boolean jsonRpc = odooConfig.getProtocol() == OdooConfig.Protocol.JSONRPC;
+            // JSON-RPC always goes through the pool; the transport switch only applies to XML-RPC
+            boolean pooled = jsonRpc || odooConfig.getTransport() != OdooConfig.Transport.DEFAULT;
+            if (pooled) {
+                httpClientPool = new OdooHttpClientPool(connectTimeout, readTimeout,
+                        positiveOr(odooConfig.getMaxConnections(), OdooConfig.DEFAULT_MAX_CONNECTIONS),
+                        odooConfig.isGzipResponses());
+            }
 
+            XmlRpcClientConfigImpl commonConfig = newClientConfig(commonUrl, connectTimeout, readTimeout, pooled);
+            logger.info("Odoo Common API URL configured: {}", commonConfig.getServerURL());
+            commonClient = newClient(commonConfig);
 
-            XmlRpcClientConfigImpl objectConfig = new XmlRpcClientConfigImpl();
-            objectConfig.setServerURL(new URL(odooConfig.getUrl() + "/xmlrpc/2/object"));
-            logger.info("Odoo Object API URL configured: {}", objectConfig.getServerURL());
-            objectClient = new XmlRpcClient();
-            objectClient.setConfig(objectConfig);
-            // It's good practice to set connection and read timeouts
-            // objectConfig.setConnectionTimeout(60 * 1000); // 60 seconds
-            // objectConfig.setReplyTimeout(60 * 1000);     // 60 seconds
+            XmlRpcClientConfigImpl objectConfig = newClientConfig(objectUrl, connectTimeout, readTimeout, pooled);
+            logger.info("Odoo Object API URL configured: {} ({} transport, timeouts {} / {} ms)",
+                    objectConfig.getServerURL(), pooled ? "pooled" : "default", connectTimeout, readTimeout);
+            objectClient = newClient(objectConfig);
 
+            if (jsonRpc) {
+                URL jsonRpcUrl = new URL(odooConfig.getUrl() + "/jsonrpc");
+                jsonRpcClient = new OdooJsonRpcClient(jsonRpcUrl.toURI(), httpClientPool.getHttpClient(),
+                        this::recordResponseSize);
+                logger.info("Odoo JSON-RPC URL configured: {}. XML-RPC clients are not used.", jsonRpcUrl);
+            }
 
-        } catch (MalformedURLException e) {
+        } catch (MalformedURLException | URISyntaxException e) {
             logger.error("Malformed Odoo URL: {}", odooConfig.getUrl(), e);
             // Consider how to handle this state - perhaps the service should not be usable.
             // For now, subsequent calls will likely fail if clients are null.
             throw new RuntimeException("Error initializing Odoo XML-RPC client: Invalid URL", e);
         }
+        registerMeters();
+    }
+
+    private void registerMeters() {
+        FunctionCounter.builder("odoo.auth.calls", authCalls, AtomicLong::get)
+                .description("common.authenticate round-trips")
+                .register(meterRegistry);
+        FunctionCounter.builder("odoo.auth.cache.hits", authCacheHits, AtomicLong::get)
+                .description("Odoo calls that reused the cached uid")
+                .register(meterRegistry);
+        Gauge.builder("odoo.rpc.response.last", lastResponseBytes, AtomicLong::get)
+                .description("Decoded size of the last Odoo RPC reply")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("odoo.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Odoo circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+        FunctionCounter.builder("odoo.circuit.rejected", circuitBreaker, OdooCircuitBreaker::getRejectedCalls)
+                .description("Odoo calls rejected while the circuit was open")
+                .register(meterRegistry);
+        if (httpClientPool != null) {
+            registerPoolGauge("leased", PoolStats::getLeased);
+            registerPoolGauge("available", PoolStats::getAvailable);
+            registerPoolGauge("pending", PoolStats::getPending);
+            registerPoolGauge("max", PoolStats::getMax);
+        }
+    }
+
+    private void registerPoolGauge(String state, ToDoubleFunction<PoolStats> value) {
+        Gauge.builder("odoo.http.pool.connections", this, service -> value.applyAsDouble(service.getConnectionPoolStats()))
+                .description("Connections of the pooled Odoo HTTP client")
+                .tag("state", state)
+                .register(meterRegistry);
+    }
+
+    private void recordResponseSize(long bytes) {
+        lastResponseBytes.set(bytes);
+        responseSize.record(bytes);
+    }
+
+    private XmlRpcClientConfigImpl newClientConfig(URL serverUrl, int connectTimeout, int readTimeout,
+            boolean pooled) {
+        XmlRpcClientConfigImpl config = new XmlRpcClientConfigImpl();
+        config.setServerURL(serverUrl);
+        config.setConnectionTimeout(connectTimeout);
+        config.setReplyTimeout(readTimeout);
+        config.setGzipCompressing(odooConfig.isGzipRequests());
+        // The pooled client negotiates and decodes response compression on its own
+        config.setGzipRequesting(!pooled && odooConfig.isGzipResponses());
+        return config;
+    }
+
+    private XmlRpcClient newClient(XmlRpcClientConfigImpl config) {
+        XmlRpcClient client = new XmlRpcClient();
+        client.setConfig(config);
+        if (httpClientPool != null) {
+            client.setTransportFactory(new PooledXmlRpcTransportFactory(client, httpClientPool.getHttpClient(),
+                    this::recordResponseSize));
+        }
+        return client;
+    }
+
+    private static int positiveOr(int value, int fallback) {
+        return value > 0 ? value : fallback;
+    }
+
+    /**
+     * Connection pool usage of the pooled transport (leased, available,
+     * pending, max), or {@code null} when the default transport is in use.
+     */
+    public PoolStats getConnectionPoolStats() {
+        return httpClientPool != null ? httpClientPool.getStats() : null;
+    }
+
+    @PreDestroy
+    void close() {
+        if (httpClientPool != null) {
+            try {
+                httpClientPool.close();
+            } catch (IOException e) {
+                logger.warn("Error closing Odoo HTTP connection pool: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the cached uid, logging in first if there is none. Concurrent
+     * callers that find the cache empty wait for a single login instead of
+     * each starting their own.
+     */
+    private Integer getUid() throws Exception {
+        Integer uid = cachedUid;
+        if (uid != null) {
+            authCacheHits.incrementAndGet();
+            return uid;
+        }
+        authLock.lock();
+        try {
+            uid = cachedUid;
+            if (uid != null) {
+                authCacheHits.incrementAndGet();
+                return uid;
+            }
+            uid = authenticate();
+            cachedUid = uid;
+            return uid;
+        } finally {
+            authLock.unlock();
+        }
+    }
+
+    private void invalidateUid(Integer staleUid) {
+        authLock.lock();
+        try {
+            // Only drop the uid that failed; another caller may already have logged in again
+            if (staleUid.equals(cachedUid)) {
+                cachedUid = null;
+            }
+        } finally {
+            authLock.unlock();
+        }
+    }
+
+    /**
+     * Transport failures, timeouts and HTTP errors count against the circuit
+     * breaker; faults raised by Odoo itself (access denied, bad domain) do not.
+     * The XML-RPC client reports a refused connection or a timeout as a plain
+     * {@code XmlRpcException} with code 0 wrapping the {@code IOException};
+     * a fault sent by Odoo carries Odoo's fault code and no cause.
+     */
+    static boolean isOdooUnreachable(Exception e) {
+        if (e instanceof OdooJsonRpcException jsonRpcException) {
+            return jsonRpcException.getErrorName() == null;
+        }
+        if (e instanceof XmlRpcException xmlRpcException) {
+            return e instanceof XmlRpcClientException || e instanceof XmlRpcHttpTransportException
+                    || hasIOExceptionCause(e) || (xmlRpcException.code == 0 && e.getCause() != null);
+        }
+        return true;
+    }
+
+    private static boolean hasIOExceptionCause(Throwable e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public OdooCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    private static boolean isAccessDenied(Exception e) {
+        if (e instanceof OdooJsonRpcException jsonRpcException) {
+            return jsonRpcException.isAccessDenied();
+        }
+        if (e instanceof XmlRpcException xmlRpcException && xmlRpcException.code == ACCESS_DENIED_FAULT_CODE) {
+            return true;
+        }
+        return e.getMessage() != null && e.getMessage().contains("AccessDenied");
+    }
+
+    @FunctionalInterface
+    private interface UidCall<T> {
+        T call(Integer uid) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface RpcCall<T> {
+        T call() throws Exception;
+    }
+
+    /**
+     * Times a single round-trip under {@code odoo.rpc}, tagged by method,
+     * model and outcome, and feeds its outcome to the circuit breaker.
+     */
+    private <T> T timed(String method, String model, RpcCall<T> call) throws Exception {
+        if (!circuitBreaker.tryAcquire()) {
+            throw new OdooUnavailableException("Odoo circuit breaker is open; next attempt in "
+                    + circuitBreaker.getRetryIn().toSeconds() + " s");
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = call.call();
+            outcome = "success";
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (Exception e) {
+            if (isOdooUnreachable(e)) {
+                circuitBreaker.onFailure();
+            } else {
+                // Odoo answered, just not with a result
+                circuitBreaker.onSuccess();
+            }
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("odoo.rpc")
+                    .description("Odoo RPC round-trips")
+                    .tag("method", method)
+                    .tag("model", model)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
     }
 
-    private Integer authenticate() throws XmlRpcException {
+    /**
+     * Runs an Odoo call with the cached uid. If Odoo rejects the uid (expired
+     * session, rotated password or API key) the service logs in once more and
+     * retries the call a single time.
+     */
+    private <T> T callWithUid(UidCall<T> call) throws Exception {
+        Integer uid = getUid();
+        if (uid == null) {
+            throw new IllegalStateException("Odoo authentication failed");
+        }
+        try {
+            return call.call(uid);
+        } catch (Exception e) {
+            if (!isAccessDenied(e)) {
+                throw e;
+            }
+            logger.warn("Odoo rejected cached UID {} ({}). Re-authenticating.", uid, e.getMessage());
+            invalidateUid(uid);
+            Integer freshUid = getUid();
+            if (freshUid == null) {
+                throw new IllegalStateException("Odoo re-authentication failed", e);
+            }
+            return call.call(freshUid);
+        }
+    }
+
+    private List<Object> executeKwArgs(Integer uid, String model, String method, List<?> args,
+            Map<String, Object> keywordArgs) {
+        return Arrays.asList(
+                odooConfig.getDb(),
+                uid,
+                odooConfig.getPassword(),
+                model,
+                method,
+                args,
+                keywordArgs
+        );
+    }
+
+    /** Runs one {@code search_read} page over whichever protocol is configured. */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> searchRead(Integer uid, String model, List<Object> domain,
+            Map<String, Object> keywordArgs) throws Exception {
+        List<Object> args = executeKwArgs(uid, model, "search_read", Collections.singletonList(domain), keywordArgs);
+        List<Map<String, Object>> page = new ArrayList<>();
+        if (jsonRpcClient != null) {
+            timed("execute_kw", model, () -> {
+                jsonRpcClient.executeKwRecords(args, page::add);
+                return null;
+            });
+            return page;
+        }
+        Object[] recordsRaw = (Object[]) timed("execute_kw", model, () -> objectClient.execute("execute_kw", args));
+        for (Object recordObj : recordsRaw) {
+            if (recordObj instanceof Map) {
+                page.add((Map<String, Object>) recordObj);
+            } else {
+                logger.warn("Received an object that is not a Map from Odoo: {}", recordObj);
+            }
+        }
+        return page;
+    }
+
+    /** Number of {@code common.authenticate} round-trips made so far. */
+    public long getAuthCallCount() {
+        return authCalls.get();
+    }
+
+    /** Number of Odoo calls that reused the cached uid instead of logging in. */
+    public long getAuthCacheHitCount() {
+        return authCacheHits.get();
+    }
+
+    private Integer authenticate() throws Exception {
         if (commonClient == null) {
             logger.error("Odoo common client not initialized. Cannot authenticate.");
             throw new IllegalStateException("Odoo common client not initialized.");
         }
-        Object result = commonClient.execute("authenticate", Arrays.asList(
+        authCalls.incrementAndGet();
+        List<Object> credentials = Arrays.asList(
                 odooConfig.getDb(),
                 odooConfig.getUsername(),
                 odooConfig.getPassword(),
                 Collections.emptyMap()
-        ));
+        );
+        Object result = timed("authenticate", "res.users", () -> jsonRpcClient != null
+                ? jsonRpcClient.call("common", "authenticate", credentials)
+                : commonClient.execute("authenticate", credentials));
         if (result instanceof Integer) {
             Integer uid = (Integer) result;
             if (uid != 0) { // Odoo returns 0 or false for failed login, uid > 0 for success
@@ -80,58 +424,120 @@ public class OdooService {
         return null; // Or throw a specific authentication exception
     }
 
-    @SuppressWarnings("unchecked")
     public List<Map<String, Object>> getOdooProjects() {
+        return getOdooProjects(null);
+    }
+
+    /**
+     * Fetches projects from Odoo. When {@code writeDateFrom} is given only
+     * records with {@code write_date >= writeDateFrom} are requested, which
+     * keeps incremental runs down to the changed rows.
+     * <p>
+     * Collects every page into one list; prefer
+     * {@link #forEachProjectPage(String, Consumer)} for large result sets.
+     */
+    public List<Map<String, Object>> getOdooProjects(String writeDateFrom) {
+        List<Map<String, Object>> projectsList = new ArrayList<>();
+        if (!forEachProjectPage(writeDateFrom, projectsList::addAll)) {
+            return Collections.emptyList(); // Return empty list in case of any error
+        }
+        logger.info("Successfully fetched {} projects from Odoo.", projectsList.size());
+        return projectsList;
+    }
+
+    /**
+     * Streams projects from Odoo one page at a time.
+     *
+     * @see #forEachPage(String, List, List, String, Consumer)
+     */
+    public boolean forEachProjectPage(String writeDateFrom, Consumer<List<Map<String, Object>>> pageConsumer) {
+        return forEachPage("project.project", Collections.emptyList(), Arrays.asList("name"), writeDateFrom,
+                pageConsumer);
+    }
+
+    /**
+     * Streams records of any Odoo model one page at a time. Pages are
+     * requested with {@code odoo.page-size} records ordered by id and keyed on
+     * the last id seen, so each page is handed to {@code pageConsumer} (and can
+     * be released) before the next one is fetched. {@code id} and
+     * {@code write_date} are always fetched in addition to {@code fields}.
+     *
+     * @param domain
+     *            base search domain, e.g. {@code [["active", "=", true]]}
+     * @param writeDateFrom
+     *            when not {@code null}, only records with
+     *            {@code write_date >= writeDateFrom} are requested. Inclusive
+     *            because {@code write_date} has one-second precision: a record
+     *            written later in the same second as the watermark must not be
+     *            skipped. Records re-fetched at the boundary are unchanged and
+     *            cost only a fingerprint comparison.
+     * @return {@code true} if every page was fetched, {@code false} if the
+     *         run stopped because of an error
+     */
+    public boolean forEachPage(String model, List<?> domain, List<String> fields, String writeDateFrom,
+            Consumer<List<Map<String, Object>>> pageConsumer) {
+        List<Object> fullDomain = new ArrayList<>(domain);
+        if (writeDateFrom != null) {
+            fullDomain.add(Arrays.asList("write_date", ">=", writeDateFrom));
+        }
+        List<String> fieldsToFetch = new ArrayList<>(Arrays.asList("id", "write_date"));
+        for (String field : fields) {
+            if (!fieldsToFetch.contains(field)) {
+                fieldsToFetch.add(field);
+            }
+        }
+        return searchReadPages(model, fullDomain, fieldsToFetch, pageConsumer);
+    }
+
+    private boolean searchReadPages(String model, List<Object> domain, List<String> fieldsToFetch,
+            Consumer<List<Map<String, Object>>> pageConsumer) {
         if (objectClient == null) {
-            logger.error("Odoo object client not initialized. Cannot fetch projects.");
-            return Collections.emptyList();
+            logger.error("Odoo object client not initialized. Cannot fetch {}.", model);
+            return false;
         }
         try {
-            Integer uid = authenticate();
-            if (uid == null) {
-                logger.error("Cannot fetch projects: Authentication failed.");
-                return Collections.emptyList();
-            }
+            int pageSize = odooConfig.getPageSize() > 0 ? odooConfig.getPageSize() : OdooConfig.DEFAULT_PAGE_SIZE;
+            logger.info("Executing Odoo search_read on '{}' with fields: {}, domain: {} and page size {}", model,
+                    fieldsToFetch, domain, pageSize);
+
+            Object lastId = null;
+            int total = 0;
+            while (true) {
+                List<Object> pageDomain = new ArrayList<>(domain);
+                if (lastId != null) {
+                    pageDomain.add(Arrays.asList("id", ">", lastId));
+                }
+
+                HashMap<String, Object> keywordArgs = new HashMap<>();
+                keywordArgs.put("fields", fieldsToFetch);
+                keywordArgs.put("limit", pageSize);
+                keywordArgs.put("order", "id asc");
 
-            List<String> fieldsToFetch = Arrays.asList("id", "name");
-            List<Object> domain = Collections.emptyList(); // Fetch all projects
-
-            HashMap<String, Object> keywordArgs = new HashMap<>();
-            keywordArgs.put("fields", fieldsToFetch);
-            // keywordArgs.put("limit", 10); // Optional: for pagination
-            // keywordArgs.put("offset", 0); // Optional: for pagination
-
-            Object[] params = new Object[]{
-                    odooConfig.getDb(),
-                    uid,
-                    odooConfig.getPassword(),
-                    "project.project", // Odoo model name for projects
-                    "search_read",     // Method to call
-                    Collections.singletonList(domain),
-                    keywordArgs
-            };
-
-            logger.info("Executing Odoo search_read on 'project.project' with fields: {}", fieldsToFetch);
-            Object[] projectsRaw = (Object[]) objectClient.execute("execute_kw", params);
-
-            List<Map<String, Object>> projectsList = new ArrayList<>();
-            for (Object projectObj : projectsRaw) {
-                if (projectObj instanceof Map) {
-                    projectsList.add((Map<String, Object>) projectObj);
-                } else {
-                    logger.warn("Received an object that is not a Map from Odoo: {}", projectObj);
+                List<Map<String, Object>> page = callWithUid(uid -> searchRead(uid, model, pageDomain, keywordArgs));
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1).get("id");
+                    total += page.size();
+                    pageConsumer.accept(page);
+                }
+                if (page.size() < pageSize || lastId == null) {
+                    break;
                 }
             }
-            logger.info("Successfully fetched {} projects from Odoo.", projectsList.size());
-            return projectsList;
+            logger.debug("Fetched {} records of '{}' from Odoo.", total, model);
+            return true;
 
+        } catch (OdooUnavailableException e) {
+            // Known outage: one line instead of a stack trace per call
+            logger.warn("Skipping fetch of {} from Odoo: {}", model, e.getMessage());
         } catch (XmlRpcException e) {
-            logger.error("XmlRpcException while fetching projects from Odoo: {}. Check Odoo XML-RPC endpoint and network.", e.getMessage(), e);
+            logger.error("XmlRpcException while fetching {} from Odoo: {}. Check Odoo XML-RPC endpoint and network.", model, e.getMessage(), e);
+        } catch (IOException e) {
+            logger.error("IOException while fetching {} from Odoo: {}. Check Odoo JSON-RPC endpoint and network.", model, e.getMessage(), e);
         } catch (ClassCastException e) {
             logger.error("ClassCastException while processing Odoo response. Unexpected data structure: {}", e.getMessage(), e);
         } catch (Exception e) {
-            logger.error("Unexpected exception while fetching projects from Odoo: {}", e.getMessage(), e);
+            logger.error("Unexpected exception while fetching {} from Odoo: {}", model, e.getMessage(), e);
         }
-        return Collections.emptyList(); // Return empty list in case of any error
+        return false;
     }
 }
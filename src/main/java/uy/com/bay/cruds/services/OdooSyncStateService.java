@@ -0,0 +1,60 @@
+package uy.com.bay.cruds.services;
+
+import java.time.LocalDateTime;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uy.com.bay.cruds.config.OdooConfig;
+import uy.com.bay.cruds.data.OdooSyncState;
+import uy.com.bay.cruds.data.OdooSyncStateRepository;
+
+@Service
+public class OdooSyncStateService {
+
+    private final OdooSyncStateRepository repository;
+    private final OdooConfig odooConfig;
+
+    public OdooSyncStateService(OdooSyncStateRepository repository, OdooConfig odooConfig) {
+        this.repository = repository;
+        this.odooConfig = odooConfig;
+    }
+
+    @Transactional
+    public OdooSyncState getOrCreate(String syncName) {
+        return repository.findBySyncName(syncName).orElseGet(() -> {
+            OdooSyncState state = new OdooSyncState();
+            state.setSyncName(syncName);
+            return repository.save(state);
+        });
+    }
+
+    /**
+     * A full reconciliation is due when there is no watermark yet or when the
+     * last full run is older than {@code odoo.full-sync-interval-hours}.
+     */
+    public boolean isFullSyncDue(OdooSyncState state) {
+        if (state.getLastWriteDate() == null || state.getLastFullSyncAt() == null) {
+            return true;
+        }
+        int interval = odooConfig.getFullSyncIntervalHours();
+        return interval > 0 && state.getLastFullSyncAt().plusHours(interval).isBefore(LocalDateTime.now());
+    }
+
+    /**
+     * Records a completed run. The watermark only moves forward, so a run that
+     * saw nothing newer than the stored value leaves it untouched.
+     */
+    @Transactional
+    public OdooSyncState recordSuccess(OdooSyncState state, @Nullable String highestWriteDate, boolean fullSync) {
+        LocalDateTime now = LocalDateTime.now();
+        if (highestWriteDate != null
+                && (state.getLastWriteDate() == null || highestWriteDate.compareTo(state.getLastWriteDate()) > 0)) {
+            state.setLastWriteDate(highestWriteDate);
+        }
+        if (fullSync) {
+            state.setLastFullSyncAt(now);
+        }
+        state.setLastRunAt(now);
+        return repository.save(state);
+    }
+}
@@ -1,21 +1,45 @@
 package uy.com.bay.cruds.services;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uy.com.bay.cruds.data.OdooFingerprintView;
 import uy.com.bay.cruds.data.Proyecto;
+import uy.com.bay.cruds.data.ProyectoDto;
 import uy.com.bay.cruds.data.ProyectoRepository;
+import uy.com.bay.cruds.data.TableVersion;
 
 @Service
 public class ProyectoService {
 
     private final ProyectoRepository repository;
+    private final CountCache countCache;
+    private final SearchIndex searchIndex;
+    private final int batchSize;
 
-    public ProyectoService(ProyectoRepository repository) {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ProyectoService(ProyectoRepository repository, CountCache countCache, SearchIndex searchIndex,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
         this.repository = repository;
+        this.countCache = countCache;
+        this.searchIndex = searchIndex;
+        this.batchSize = batchSize;
     }
 
     public Optional<Proyecto> get(Long id) {
@@ -23,11 +47,35 @@ public class ProyectoService {
     }
 
     public Proyecto save(Proyecto entity) {
-        return repository.save(entity);
+        Proyecto saved = repository.save(entity);
+        countCache.invalidate(Proyecto.class);
+        searchIndex.put(saved);
+        return saved;
+    }
+
+    /**
+     * Saves all entities in one transaction, flushing every {@code batchSize}
+     * rows so Hibernate sends them as JDBC batches and the persistence context
+     * does not grow with the input.
+     */
+    @Transactional
+    public void saveAll(Collection<Proyecto> entities) {
+        int pending = 0;
+        for (Proyecto entity : entities) {
+            searchIndex.put(repository.save(entity));
+            if (++pending == batchSize) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        countCache.invalidate(Proyecto.class);
     }
 
     public void delete(Long id) {
         repository.deleteById(id);
+        countCache.invalidate(Proyecto.class);
+        searchIndex.remove(SearchIndex.Kind.PROYECTO, id);
     }
 
     public Page<Proyecto> list(Pageable pageable) {
@@ -42,6 +90,76 @@ public class ProyectoService {
         return (int) repository.count();
     }
 
+    /**
+     * One page of rows without the {@code COUNT} a {@code Page} runs; the
+     * grids ask {@link #countUpTo(Specification, int)} separately, once per refresh.
+     */
+    public Slice<Proyecto> slice(Pageable pageable, Specification<Proyecto> filter) {
+        return DtoQueries.slice(entityManager, Proyecto.class, filter, pageable);
+    }
+
+    /** Exact count, cached per filter until the next write (see {@link CountCache}). */
+    public int count(Specification<Proyecto> filter) {
+        return countCache.get(Proyecto.class, filter, Integer.MAX_VALUE, () -> (int) repository.count(filter));
+    }
+
+    /** Exact count up to {@code limit}, otherwise {@code limit + 1}; cached like {@link #count(Specification)}. */
+    public int countUpTo(Specification<Proyecto> filter, int limit) {
+        return countCache.get(Proyecto.class, filter, limit,
+                () -> DtoQueries.countUpTo(entityManager, Proyecto.class, filter, limit));
+    }
+
+    public List<Proyecto> findByOdooIds(Collection<String> odooIds) {
+        return repository.findByOdooIdIn(odooIds);
+    }
+
+    /**
+     * Stored fingerprint per Odoo id, for the given ids that exist. Reads the
+     * two columns only; no entity is loaded.
+     */
+    public Map<String, String> findOdooFingerprints(Collection<String> odooIds) {
+        Map<String, String> fingerprints = new HashMap<>();
+        for (OdooFingerprintView row : repository.findFingerprintsByOdooIdIn(odooIds)) {
+            fingerprints.put(row.getOdooId(), row.getOdooFingerprint());
+        }
+        return fingerprints;
+    }
+
+    public Optional<ProyectoDto> getDto(Long id) {
+        return repository.findDtoById(id);
+    }
+
+    /**
+     * Up to {@code limit} rows matching {@code filter} with an id greater
+     * than {@code afterId} (all ids when {@code null}), in id order.
+     */
+    public List<ProyectoDto> listAfter(Long afterId, Specification<Proyecto> filter, int limit) {
+        return DtoQueries.list(entityManager, Proyecto.class, ProyectoDto.class,
+                FieldFilters.allOf(FieldFilters.idAfter(afterId), filter), Sort.by("id"), limit);
+    }
+
+    /**
+     * Hands every row matching {@code filter} to {@code action} in the given
+     * order, streaming from the database so memory stays flat however large
+     * the table is.
+     */
+    @Transactional(readOnly = true)
+    public void forEach(Specification<Proyecto> filter, Sort sort, Consumer<ProyectoDto> action) {
+        try (Stream<ProyectoDto> rows = DtoQueries.stream(entityManager, Proyecto.class, ProyectoDto.class, filter,
+                sort)) {
+            rows.forEach(action);
+        }
+    }
+
+    public List<ProyectoDto> findAllDtos(Specification<Proyecto> filter, Sort sort) {
+        return DtoQueries.list(entityManager, Proyecto.class, ProyectoDto.class, filter, sort, 0);
+    }
+
+    /** Changes whenever any row is inserted, updated or deleted; see {@link TableVersion}. */
+    public TableVersion tableVersion() {
+        return repository.findTableVersion();
+    }
+
     public List<Proyecto> findAll() {
         return repository.findAll();
     }
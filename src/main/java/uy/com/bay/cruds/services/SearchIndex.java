@@ -0,0 +1,390 @@
+package uy.com.bay.cruds.services;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uy.com.bay.cruds.data.Encuestador;
+import uy.com.bay.cruds.data.EncuestadorDto;
+import uy.com.bay.cruds.data.Proyecto;
+import uy.com.bay.cruds.data.ProyectoDto;
+import uy.com.bay.cruds.data.SearchText;
+import uy.com.bay.cruds.data.TableVersion;
+import uy.com.bay.cruds.data.User;
+
+/**
+ * In-memory n-gram index over proyectos, encuestadores and users for the
+ * global search box. Text is folded like the search columns and split into
+ * words; every word is indexed by its trigrams and its one- and two-letter
+ * prefixes, so any fragment of a name, an id or a CI finds its rows without
+ * touching the database.
+ * <p>
+ * The index is loaded at startup and kept current by the services, which
+ * report every save and delete; changes made inside a transaction are
+ * applied after it commits. Every {@code search.refresh-interval} each
+ * table's {@link TableVersion} is compared with the one read before it was
+ * last loaded, and a table that changed is loaded again. That picks up
+ * writes made on other nodes or by bulk updates, and repairs rows a load
+ * resurrected because they were deleted while it was reading.
+ */
+@Service
+public class SearchIndex implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndex.class);
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int GRAM = 3;
+
+    public enum Kind {
+        PROYECTO, ENCUESTADOR, USUARIO
+    }
+
+    public record Hit(Kind kind, Long id, String title, String detail) {
+    }
+
+    private record Key(Kind kind, Long id) {
+    }
+
+    private record Document(Hit hit, List<String> words) {
+    }
+
+    private record Scored(Hit hit, int score) {
+    }
+
+    private static final Comparator<Scored> RANKING = Comparator.comparingInt(Scored::score).reversed()
+            .thenComparingInt(scored -> scored.hit().title().length())
+            .thenComparing(scored -> scored.hit().title())
+            .thenComparing(scored -> scored.hit().kind());
+
+    // Table versions read just before each kind was last loaded
+    private final Map<Kind, TableVersion> loadedVersions = new EnumMap<>(Kind.class);
+    private final Map<Key, Document> documents = new HashMap<>();
+    private final Map<String, Set<Key>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        reloadChanged();
+        lock.readLock().lock();
+        try {
+            logger.info("Search index loaded: {} rows, {} n-grams in {} ms", documents.size(), postings.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Loads again every table whose version moved since it was last loaded. */
+    @Scheduled(fixedDelayString = "${search.refresh-interval:60s}",
+            initialDelayString = "${search.refresh-interval:60s}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        List<Kind> reloaded = reloadChanged();
+        if (!reloaded.isEmpty()) {
+            logger.debug("Search index reloaded {}", reloaded);
+        }
+    }
+
+    private synchronized List<Kind> reloadChanged() {
+        List<Kind> reloaded = new ArrayList<>();
+        for (Kind kind : Kind.values()) {
+            // Read first: a write committed during the load moves it again, so the next refresh repeats the load
+            TableVersion version = tableVersion(kind);
+            if (version.equals(loadedVersions.get(kind))) {
+                continue;
+            }
+            List<Document> loaded = load(kind);
+            lock.writeLock().lock();
+            try {
+                documents.keySet().stream().filter(key -> key.kind() == kind).toList().forEach(this::unindex);
+                loaded.forEach(this::add);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            loadedVersions.put(kind, version);
+            reloaded.add(kind);
+        }
+        return reloaded;
+    }
+
+    private TableVersion tableVersion(Kind kind) {
+        return entityManager.createQuery("select new uy.com.bay.cruds.data.TableVersion(count(e), max(e.id), "
+                + "sum(e.version)) from " + entityName(kind) + " e", TableVersion.class).getSingleResult();
+    }
+
+    private List<Document> load(Kind kind) {
+        return switch (kind) {
+            case PROYECTO -> {
+                try (Stream<ProyectoDto> proyectos = DtoQueries.stream(entityManager, Proyecto.class,
+                        ProyectoDto.class, null, Sort.unsorted())) {
+                    yield proyectos.map(p -> proyecto(p.id(), p.name(), p.alchemerId(), p.doobloId(), p.odooId()))
+                            .toList();
+                }
+            }
+            case ENCUESTADOR -> {
+                try (Stream<EncuestadorDto> encuestadores = DtoQueries.stream(entityManager, Encuestador.class,
+                        EncuestadorDto.class, null, Sort.unsorted())) {
+                    yield encuestadores.map(e -> encuestador(e.id(), e.firstName(), e.lastName(), e.ci())).toList();
+                }
+            }
+            case USUARIO -> entityManager.createQuery("select u.id, u.username, u.name from User u", Object[].class)
+                    .getResultStream()
+                    .map(u -> usuario((Long) u[0], (String) u[1], (String) u[2]))
+                    .toList();
+        };
+    }
+
+    private static String entityName(Kind kind) {
+        return switch (kind) {
+            case PROYECTO -> "Proyecto";
+            case ENCUESTADOR -> "Encuestador";
+            case USUARIO -> "User";
+        };
+    }
+
+    /**
+     * Up to {@code limit} rows of the given kinds containing every word of
+     * {@code text} (each as a fragment of some word of the row), best first:
+     * whole-word matches rank above prefixes, prefixes above fragments.
+     */
+    public List<Hit> search(String text, Set<Kind> kinds, int limit) {
+        List<String> terms = words(text);
+        if (terms.isEmpty() || kinds.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Set<Key>> sets = new ArrayList<>();
+            for (String gram : queryGrams(terms)) {
+                Set<Key> keys = postings.get(gram);
+                if (keys == null) {
+                    return List.of();
+                }
+                sets.add(keys);
+            }
+            sets.sort(Comparator.comparingInt(Set::size));
+            List<Set<Key>> others = sets.subList(1, sets.size());
+            return sets.get(0).stream()
+                    .filter(key -> kinds.contains(key.kind()))
+                    .filter(key -> others.stream().allMatch(keys -> keys.contains(key)))
+                    .map(documents::get)
+                    .map(document -> new Scored(document.hit(), score(document.words(), terms)))
+                    .filter(scored -> scored.score() > 0)
+                    .sorted(RANKING)
+                    .limit(limit)
+                    .map(Scored::hit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(Proyecto proyecto) {
+        Document document = proyecto(proyecto.getId(), proyecto.getName(), proyecto.getAlchemerId(),
+                proyecto.getDoobloId(), proyecto.getOdooId());
+        afterCommit(() -> index(document));
+    }
+
+    public void put(Encuestador encuestador) {
+        Document document = encuestador(encuestador.getId(), encuestador.getFirstName(), encuestador.getLastName(),
+                encuestador.getCi());
+        afterCommit(() -> index(document));
+    }
+
+    public void put(User user) {
+        Document document = usuario(user.getId(), user.getUsername(), user.getName());
+        afterCommit(() -> index(document));
+    }
+
+    public void remove(Kind kind, Long id) {
+        Key key = new Key(kind, id);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(key);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private static Document proyecto(Long id, String name, String alchemerId, String doobloId, String odooId) {
+        List<String> ids = new ArrayList<>();
+        if (alchemerId != null && !alchemerId.isBlank()) {
+            ids.add("Alchemer " + alchemerId);
+        }
+        if (doobloId != null && !doobloId.isBlank()) {
+            ids.add("Dooblo " + doobloId);
+        }
+        if (odooId != null && !odooId.isBlank()) {
+            ids.add("Odoo " + odooId);
+        }
+        Hit hit = new Hit(Kind.PROYECTO, id, orEmpty(name), String.join(" · ", ids));
+        return new Document(hit, words(name, alchemerId, doobloId, odooId));
+    }
+
+    private static Document encuestador(Long id, String firstName, String lastName, String ci) {
+        String title = (orEmpty(firstName) + " " + orEmpty(lastName)).trim();
+        Hit hit = new Hit(Kind.ENCUESTADOR, id, title, ci == null ? "" : "CI " + ci);
+        return new Document(hit, words(firstName, lastName, ci, SearchText.digits(ci)));
+    }
+
+    private static Document usuario(Long id, String username, String name) {
+        Hit hit = new Hit(Kind.USUARIO, id, name == null || name.isBlank() ? orEmpty(username) : name,
+                orEmpty(username));
+        return new Document(hit, words(username, name));
+    }
+
+    private void index(Document document) {
+        lock.writeLock().lock();
+        try {
+            add(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void add(Document document) {
+        Key key = new Key(document.hit().kind(), document.hit().id());
+        if (key.id() == null) {
+            return;
+        }
+        unindex(key);
+        documents.put(key, document);
+        for (String gram : grams(document.words())) {
+            postings.computeIfAbsent(gram, g -> new HashSet<>()).add(key);
+        }
+    }
+
+    // Caller holds the write lock
+    private void unindex(Key key) {
+        Document previous = documents.remove(key);
+        if (previous == null) {
+            return;
+        }
+        for (String gram : grams(previous.words())) {
+            Set<Key> keys = postings.get(gram);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    /** Folded, distinct words of {@code values}, skipping {@code null}s. */
+    static List<String> words(String... values) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String value : values) {
+            String folded = SearchText.fold(value);
+            if (folded == null) {
+                continue;
+            }
+            for (String word : WORD_SEPARATOR.split(folded)) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+        return List.copyOf(words);
+    }
+
+    /** What a row is indexed under: each word's short prefixes and all its trigrams. */
+    private static Set<String> grams(List<String> words) {
+        Set<String> grams = new HashSet<>();
+        for (String word : words) {
+            for (int length = 1; length < GRAM && length <= word.length(); length++) {
+                grams.add(word.substring(0, length));
+            }
+            for (int i = 0; i + GRAM <= word.length(); i++) {
+                grams.add(word.substring(i, i + GRAM));
+            }
+        }
+        return grams;
+    }
+
+    /** What a query looks up: short words by prefix, longer ones by all their trigrams. */
+    private static Set<String> queryGrams(List<String> terms) {
+        Set<String> grams = new HashSet<>();
+        for (String term : terms) {
+            if (term.length() < GRAM) {
+                grams.add(term);
+            } else {
+                for (int i = 0; i + GRAM <= term.length(); i++) {
+                    grams.add(term.substring(i, i + GRAM));
+                }
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * 3 per term equal to a word, 2 per term starting one, 1 per term
+     * inside one; 0 when a term is in no word, which the trigrams alone
+     * cannot rule out.
+     */
+    private static int score(List<String> words, List<String> terms) {
+        int score = 0;
+        for (String term : terms) {
+            int best = 0;
+            for (String word : words) {
+                if (word.equals(term)) {
+                    best = 3;
+                    break;
+                }
+                if (word.startsWith(term)) {
+                    best = Math.max(best, 2);
+                } else if (word.contains(term)) {
+                    best = Math.max(best, 1);
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    private static String orEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
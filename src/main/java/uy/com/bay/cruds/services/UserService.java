@@ -1,8 +1,11 @@
 package uy.com.bay.cruds.services;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import uy.com.bay.cruds.data.User;
@@ -12,9 +15,16 @@ import uy.com.bay.cruds.data.UserRepository;
 public class UserService {
 
     private final UserRepository repository;
+    private final CountCache countCache;
+    private final SearchIndex searchIndex;
 
-    public UserService(UserRepository repository) {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public UserService(UserRepository repository, CountCache countCache, SearchIndex searchIndex) {
         this.repository = repository;
+        this.countCache = countCache;
+        this.searchIndex = searchIndex;
     }
 
     public Optional<User> get(Long id) {
@@ -22,11 +32,16 @@ public class UserService {
     }
 
     public User save(User entity) {
-        return repository.save(entity);
+        User saved = repository.save(entity);
+        countCache.invalidate(User.class);
+        searchIndex.put(saved);
+        return saved;
     }
 
     public void delete(Long id) {
         repository.deleteById(id);
+        countCache.invalidate(User.class);
+        searchIndex.remove(SearchIndex.Kind.USUARIO, id);
     }
 
     public Page<User> list(Pageable pageable) {
@@ -41,4 +56,23 @@ public class UserService {
         return (int) repository.count();
     }
 
+    /**
+     * One page of rows without the {@code COUNT} a {@code Page} runs; the
+     * grids ask {@link #countUpTo(Specification, int)} separately, once per refresh.
+     */
+    public Slice<User> slice(Pageable pageable, Specification<User> filter) {
+        return DtoQueries.slice(entityManager, User.class, filter, pageable);
+    }
+
+    /** Exact count, cached per filter until the next write (see {@link CountCache}). */
+    public int count(Specification<User> filter) {
+        return countCache.get(User.class, filter, Integer.MAX_VALUE, () -> (int) repository.count(filter));
+    }
+
+    /** Exact count up to {@code limit}, otherwise {@code limit + 1}; cached like {@link #count(Specification)}. */
+    public int countUpTo(Specification<User> filter, int limit) {
+        return countCache.get(User.class, filter, limit,
+                () -> DtoQueries.countUpTo(entityManager, User.class, filter, limit));
+    }
+
 }
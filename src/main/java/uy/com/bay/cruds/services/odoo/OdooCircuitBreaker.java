@@ -0,0 +1,109 @@
+package uy.com.bay.cruds.services.odoo;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers that Odoo is failing. After {@code failureThreshold} consecutive
+ * failures the circuit opens and calls are rejected without touching the
+ * network. Once the open period has passed a single probe call is let
+ * through (half-open): success closes the circuit, failure opens it again for
+ * twice as long, up to {@code maxOpenDuration}. Open periods get +/-20%
+ * jitter so several nodes do not all probe a recovering Odoo at once.
+ */
+public class OdooCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final double JITTER = 0.2;
+
+    private final int failureThreshold;
+    private final long baseOpenNanos;
+    private final long maxOpenNanos;
+    private final LongSupplier nanoClock;
+    private final DoubleSupplier random;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    // Open period before jitter; doubles with every failed probe
+    private long openNanos;
+    private long retryAtNanos;
+    private long rejectedCalls;
+
+    public OdooCircuitBreaker(int failureThreshold, Duration baseOpenDuration, Duration maxOpenDuration) {
+        this(failureThreshold, baseOpenDuration, maxOpenDuration, System::nanoTime,
+                () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    OdooCircuitBreaker(int failureThreshold, Duration baseOpenDuration, Duration maxOpenDuration,
+            LongSupplier nanoClock, DoubleSupplier random) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.baseOpenNanos = baseOpenDuration.toNanos();
+        this.maxOpenNanos = Math.max(baseOpenNanos, maxOpenDuration.toNanos());
+        this.nanoClock = nanoClock;
+        this.random = random;
+        this.openNanos = baseOpenNanos;
+    }
+
+    /**
+     * Whether a call may go to Odoo now. In the half-open state only the
+     * caller that turned the circuit half-open gets {@code true}.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN && nanoClock.getAsLong() - retryAtNanos >= 0) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+        rejectedCalls++;
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        openNanos = baseOpenNanos;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN) {
+            openNanos = Math.min(maxOpenNanos, openNanos * 2);
+            open();
+        } else if (state == State.CLOSED && consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        double jitter = 1 + JITTER * (2 * random.getAsDouble() - 1);
+        retryAtNanos = nanoClock.getAsLong() + (long) (openNanos * jitter);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public synchronized long getRejectedCalls() {
+        return rejectedCalls;
+    }
+
+    /** Time left until the next probe is allowed, zero unless the circuit is open. */
+    public synchronized Duration getRetryIn() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, retryAtNanos - nanoClock.getAsLong()));
+    }
+}
@@ -0,0 +1,239 @@
+package uy.com.bay.cruds.services.odoo;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+
+/**
+ * Client for Odoo's {@code /jsonrpc} endpoint. Replies are read with Jackson's
+ * streaming parser: records of a {@code search_read} are decoded one at a time
+ * straight into field maps holding plain Java values, without building a
+ * tree of the whole response first.
+ */
+public class OdooJsonRpcClient {
+
+    private final URI endpoint;
+    private final CloseableHttpClient httpClient;
+    private final LongConsumer responseSizeListener;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final AtomicLong requestIds = new AtomicLong();
+
+    /**
+     * @param responseSizeListener
+     *            receives the decoded size in bytes of every reply
+     */
+    public OdooJsonRpcClient(URI endpoint, CloseableHttpClient httpClient, LongConsumer responseSizeListener) {
+        this.endpoint = endpoint;
+        this.httpClient = httpClient;
+        this.responseSizeListener = responseSizeListener;
+    }
+
+    @FunctionalInterface
+    private interface ResultReader<T> {
+        /** Reads the value the parser is positioned on, including any nested tokens. */
+        T read(JsonParser parser) throws IOException;
+    }
+
+    /** Calls {@code service.method(*args)} and returns the decoded result. */
+    public Object call(String service, String method, List<?> args) throws IOException {
+        return execute(service, method, args, OdooJsonRpcClient::readValue);
+    }
+
+    /**
+     * Calls {@code object.execute_kw} for a method that returns a list of
+     * records (such as {@code search_read}) and hands each record to
+     * {@code recordConsumer} as soon as it has been parsed.
+     *
+     * @return the number of records received
+     */
+    public int executeKwRecords(List<?> executeKwArgs, Consumer<Map<String, Object>> recordConsumer)
+            throws IOException {
+        return execute("object", "execute_kw", executeKwArgs, parser -> {
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                throw new OdooJsonRpcException("Expected a list of records but got " + parser.currentToken(), null);
+            }
+            int count = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                recordConsumer.accept(readObject(parser));
+                count++;
+            }
+            return count;
+        });
+    }
+
+    private <T> T execute(String service, String method, List<?> args, ResultReader<T> resultReader)
+            throws IOException {
+        HttpPost post = new HttpPost(endpoint);
+        post.setEntity(new ByteArrayEntity(requestBody(service, method, args), ContentType.APPLICATION_JSON));
+        return httpClient.execute(post, response -> {
+            int status = response.getCode();
+            if (status < 200 || status > 299) {
+                throw new OdooJsonRpcException("HTTP " + status + " " + response.getReasonPhrase() + " from " + endpoint,
+                        null);
+            }
+            try (InputStream in = new CountingInputStream(response.getEntity().getContent(), responseSizeListener);
+                    JsonParser parser = jsonFactory.createParser(in)) {
+                return readResponse(parser, resultReader);
+            }
+        });
+    }
+
+    private byte[] requestBody(String service, String method, List<?> args) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (JsonGenerator generator = jsonFactory.createGenerator(body)) {
+            generator.writeStartObject();
+            generator.writeStringField("jsonrpc", "2.0");
+            generator.writeStringField("method", "call");
+            generator.writeNumberField("id", requestIds.incrementAndGet());
+            generator.writeObjectFieldStart("params");
+            generator.writeStringField("service", service);
+            generator.writeStringField("method", method);
+            generator.writeFieldName("args");
+            writeValue(generator, args);
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+        return body.toByteArray();
+    }
+
+    private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof String s) {
+            generator.writeString(s);
+        } else if (value instanceof Boolean b) {
+            generator.writeBoolean(b);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Number n) {
+            generator.writeNumber(n.doubleValue());
+        } else if (value instanceof Map<?, ?> map) {
+            generator.writeStartObject();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                generator.writeFieldName(String.valueOf(entry.getKey()));
+                writeValue(generator, entry.getValue());
+            }
+            generator.writeEndObject();
+        } else if (value instanceof Collection<?> collection) {
+            generator.writeStartArray();
+            for (Object item : collection) {
+                writeValue(generator, item);
+            }
+            generator.writeEndArray();
+        } else if (value instanceof Object[] array) {
+            generator.writeStartArray();
+            for (Object item : array) {
+                writeValue(generator, item);
+            }
+            generator.writeEndArray();
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+
+    private static <T> T readResponse(JsonParser parser, ResultReader<T> resultReader) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new OdooJsonRpcException("Odoo reply is not a JSON-RPC object", null);
+        }
+        T result = null;
+        boolean hasResult = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("result".equals(field)) {
+                result = resultReader.read(parser);
+                hasResult = true;
+            } else if ("error".equals(field)) {
+                throw toException(readValue(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (!hasResult) {
+            throw new OdooJsonRpcException("Odoo reply has neither result nor error", null);
+        }
+        return result;
+    }
+
+    private static OdooJsonRpcException toException(Object error) {
+        String message = "Odoo JSON-RPC error";
+        String errorName = null;
+        if (error instanceof Map<?, ?> errorMap) {
+            Object data = errorMap.get("data");
+            if (data instanceof Map<?, ?> dataMap) {
+                errorName = dataMap.get("name") instanceof String name ? name : null;
+                if (dataMap.get("message") instanceof String dataMessage) {
+                    message = dataMessage;
+                }
+            } else if (errorMap.get("message") instanceof String errorMessage) {
+                message = errorMessage;
+            }
+        }
+        return new OdooJsonRpcException(errorName != null ? errorName + ": " + message : message, errorName);
+    }
+
+    private static Map<String, Object> readObject(JsonParser parser) throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            map.put(field, readValue(parser));
+        }
+        return map;
+    }
+
+    private static Object readValue(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null) {
+            return null;
+        }
+        switch (token) {
+            case START_OBJECT:
+                return readObject(parser);
+            case START_ARRAY: {
+                // Many2one values arrive as [id, display_name], x2many as lists of ids
+                List<Object> list = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    list.add(readValue(parser));
+                }
+                return list;
+            }
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue(); // Integer or Long depending on magnitude
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                parser.skipChildren();
+                return null;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package uy.com.bay.cruds.services.odoo;
+
+import java.io.IOException;
+
+/**
+ * Error object returned by Odoo's {@code /jsonrpc} endpoint, or a reply that
+ * could not be understood.
+ */
+public class OdooJsonRpcException extends IOException {
+
+    private static final String ACCESS_DENIED = "odoo.exceptions.AccessDenied";
+
+    // Python exception class reported by Odoo in error.data.name, if any
+    private final String errorName;
+
+    public OdooJsonRpcException(String message, String errorName) {
+        super(message);
+        this.errorName = errorName;
+    }
+
+    public String getErrorName() {
+        return errorName;
+    }
+
+    public boolean isAccessDenied() {
+        return ACCESS_DENIED.equals(errorName);
+    }
+}
@@ -0,0 +1,13 @@
+package uy.com.bay.cruds.services.odoo;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of calling Odoo while {@link OdooCircuitBreaker} is open.
+ */
+public class OdooUnavailableException extends IOException {
+
+    public OdooUnavailableException(String message) {
+        super(message);
+    }
+}
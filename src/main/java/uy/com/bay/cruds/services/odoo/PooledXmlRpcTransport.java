@@ -0,0 +1,110 @@
+package uy.com.bay.cruds.services.odoo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.LongConsumer;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.xmlrpc.XmlRpcException;
+import org.apache.xmlrpc.XmlRpcRequest;
+import org.apache.xmlrpc.client.XmlRpcClient;
+import org.apache.xmlrpc.client.XmlRpcClientException;
+import org.apache.xmlrpc.client.XmlRpcHttpClientConfig;
+import org.apache.xmlrpc.client.XmlRpcHttpTransport;
+import org.apache.xmlrpc.client.XmlRpcHttpTransportException;
+import org.apache.xmlrpc.common.XmlRpcStreamRequestConfig;
+import org.xml.sax.SAXException;
+
+/**
+ * XML-RPC transport for a single request, sent over the pooled HttpClient.
+ * The response entity is always consumed before closing so the connection
+ * goes back to the pool rather than being discarded.
+ */
+class PooledXmlRpcTransport extends XmlRpcHttpTransport {
+
+    private static final String USER_AGENT = XmlRpcHttpTransport.USER_AGENT + " (Apache HttpClient 5)";
+    private static final ContentType TEXT_XML_UTF8 = ContentType.create("text/xml", StandardCharsets.UTF_8);
+
+    private final CloseableHttpClient httpClient;
+    private final LongConsumer responseSizeListener;
+    private HttpPost post;
+    private ClassicHttpResponse response;
+
+    PooledXmlRpcTransport(XmlRpcClient client, CloseableHttpClient httpClient, LongConsumer responseSizeListener) {
+        super(client, USER_AGENT);
+        this.httpClient = httpClient;
+        this.responseSizeListener = responseSizeListener;
+    }
+
+    @Override
+    public Object sendRequest(XmlRpcRequest request) throws XmlRpcException {
+        XmlRpcHttpClientConfig config = (XmlRpcHttpClientConfig) request.getConfig();
+        try {
+            post = new HttpPost(config.getServerURL().toURI());
+        } catch (URISyntaxException e) {
+            throw new XmlRpcClientException("Invalid Odoo URL: " + config.getServerURL(), e);
+        }
+        return super.sendRequest(request);
+    }
+
+    @Override
+    protected void setRequestHeader(String header, String value) {
+        // HttpClient derives these from the entity and rejects requests that already carry them
+        if ("Content-Length".equalsIgnoreCase(header) || "Transfer-Encoding".equalsIgnoreCase(header)) {
+            return;
+        }
+        post.setHeader(header, value);
+    }
+
+    @Override
+    protected void writeRequest(ReqWriter writer) throws XmlRpcException, IOException, SAXException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        writer.write(body);
+        post.setEntity(new ByteArrayEntity(body.toByteArray(), TEXT_XML_UTF8));
+
+        response = httpClient.executeOpen(null, post, null);
+        int status = response.getCode();
+        if (status < 200 || status > 299) {
+            String reason = response.getReasonPhrase();
+            close();
+            throw new XmlRpcHttpTransportException(status, reason);
+        }
+    }
+
+    @Override
+    protected InputStream getInputStream() throws XmlRpcException {
+        try {
+            return new CountingInputStream(response.getEntity().getContent(), responseSizeListener);
+        } catch (IOException e) {
+            throw new XmlRpcClientException("Failed to read Odoo response: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected boolean isResponseGzipCompressed(XmlRpcStreamRequestConfig config) {
+        // HttpClient has already decoded any Content-Encoding by the time the stream is read
+        return false;
+    }
+
+    @Override
+    protected void close() throws XmlRpcClientException {
+        if (response == null) {
+            return;
+        }
+        try {
+            EntityUtils.consume(response.getEntity());
+            response.close();
+        } catch (IOException e) {
+            throw new XmlRpcClientException("Failed to release Odoo connection: " + e.getMessage(), e);
+        } finally {
+            response = null;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package uy.com.bay.cruds.services.odoo;
+
+import java.util.function.LongConsumer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.xmlrpc.client.XmlRpcClient;
+import org.apache.xmlrpc.client.XmlRpcTransport;
+import org.apache.xmlrpc.client.XmlRpcTransportFactoryImpl;
+
+/**
+ * Plugs {@link OdooHttpClientPool} into an {@link XmlRpcClient} in place of
+ * the default {@code XmlRpcSunHttpTransportFactory}.
+ */
+public class PooledXmlRpcTransportFactory extends XmlRpcTransportFactoryImpl {
+
+    private final CloseableHttpClient httpClient;
+    private final LongConsumer responseSizeListener;
+
+    /**
+     * @param responseSizeListener
+     *            receives the decoded size in bytes of every reply
+     */
+    public PooledXmlRpcTransportFactory(XmlRpcClient client, CloseableHttpClient httpClient,
+            LongConsumer responseSizeListener) {
+        super(client);
+        this.httpClient = httpClient;
+        this.responseSizeListener = responseSizeListener;
+    }
+
+    @Override
+    public XmlRpcTransport getTransport() {
+        return new PooledXmlRpcTransport(getClient(), httpClient, responseSizeListener);
+    }
+}
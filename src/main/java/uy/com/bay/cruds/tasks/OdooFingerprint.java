@@ -0,0 +1,41 @@
+package uy.com.bay.cruds.tasks;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Compact content fingerprint of the fields a sync maps from an Odoo record.
+ * Comparing it with the value stored on the entity tells whether the row has
+ * to be written at all.
+ */
+final class OdooFingerprint {
+
+    // 64 bits of SHA-256: short enough to store on every row, wide enough that collisions are not a concern
+    private static final int LENGTH_BYTES = 8;
+
+    private OdooFingerprint() {
+    }
+
+    static String of(Object... mappedValues) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        for (Object value : mappedValues) {
+            if (value == null) {
+                digest.update((byte) 0);
+            } else {
+                digest.update((byte) 1);
+                digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+                // Separator so ("ab", "c") and ("a", "bc") differ
+                digest.update((byte) 0x1f);
+            }
+        }
+        byte[] hash = digest.digest();
+        return HexFormat.of().formatHex(hash, 0, LENGTH_BYTES);
+    }
+}
@@ -0,0 +1,111 @@
+package uy.com.bay.cruds.tasks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import uy.com.bay.cruds.services.JobLeaseService;
+
+/**
+ * Single entry point for starting the Odoo sync, from the schedule or on
+ * demand. Runs are asynchronous; a trigger arriving while a run is in flight
+ * on this node joins that run instead of starting another one. Across nodes
+ * the job lease keeps runs from overlapping.
+ */
+@Component
+public class OdooSyncCoordinator {
+
+    static final String JOB_NAME = "odoo-sync";
+    private static final int RECENT_RUNS = 20;
+
+    private static final Logger logger = LoggerFactory.getLogger(OdooSyncCoordinator.class);
+
+    private final OdooSyncEngine syncEngine;
+    private final JobLeaseService jobLeaseService;
+    private final Executor executor;
+    private final Map<String, OdooSyncRun> recentRuns = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, OdooSyncRun> eldest) {
+            return size() > RECENT_RUNS;
+        }
+    };
+    private OdooSyncRun inFlight;
+
+    @Autowired
+    public OdooSyncCoordinator(OdooSyncEngine syncEngine, JobLeaseService jobLeaseService) {
+        this(syncEngine, jobLeaseService,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("odoo-sync-", 0).factory()));
+    }
+
+    OdooSyncCoordinator(OdooSyncEngine syncEngine, JobLeaseService jobLeaseService, Executor executor) {
+        this.syncEngine = syncEngine;
+        this.jobLeaseService = jobLeaseService;
+        this.executor = executor;
+    }
+
+    /** Starts the run for a schedule slot, unless a run is already in flight. */
+    public OdooSyncRun runScheduled(String slot) {
+        return trigger("scheduled", slot);
+    }
+
+    /** Starts a run now, or joins the one in flight. */
+    public OdooSyncRun requestSync(String requestedBy) {
+        return trigger("manual:" + requestedBy, null);
+    }
+
+    public synchronized Optional<OdooSyncRun> findRun(String id) {
+        return Optional.ofNullable(recentRuns.get(id));
+    }
+
+    /** The run in flight, or else the most recent one. */
+    public synchronized Optional<OdooSyncRun> latestRun() {
+        if (inFlight != null) {
+            return Optional.of(inFlight);
+        }
+        List<OdooSyncRun> runs = new ArrayList<>(recentRuns.values());
+        return runs.isEmpty() ? Optional.empty() : Optional.of(runs.get(runs.size() - 1));
+    }
+
+    private synchronized OdooSyncRun trigger(String trigger, String slot) {
+        if (inFlight != null) {
+            logger.info("Odoo sync requested ({}) while run {} is in flight; joining it.", trigger, inFlight.getId());
+            return inFlight;
+        }
+        OdooSyncRun run = new OdooSyncRun(trigger);
+        inFlight = run;
+        recentRuns.put(run.getId(), run);
+        executor.execute(() -> execute(run, slot));
+        return run;
+    }
+
+    private void execute(OdooSyncRun run, String slot) {
+        List<OdooSyncResult> results = new ArrayList<>();
+        OdooSyncRun.Status status = OdooSyncRun.Status.FAILED;
+        try {
+            Consumer<JobLeaseService.Lease> job = lease -> results.addAll(syncEngine.runAll(lease::renew));
+            // Manual runs must not use up (or be blocked by) the schedule slot
+            boolean ran = slot != null ? jobLeaseService.runExclusively(JOB_NAME, slot, job)
+                    : jobLeaseService.runUnscheduled(JOB_NAME, "manual:" + run.getId(), job);
+            if (!ran) {
+                status = OdooSyncRun.Status.SKIPPED;
+            } else if (results.stream().allMatch(OdooSyncResult::completed)) {
+                status = OdooSyncRun.Status.COMPLETED;
+            }
+        } catch (RuntimeException e) {
+            logger.error("Odoo sync run {} failed: {}", run.getId(), e.getMessage(), e);
+        } finally {
+            synchronized (this) {
+                inFlight = null;
+            }
+            run.finish(status, results);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package uy.com.bay.cruds.tasks;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import uy.com.bay.cruds.data.OdooSyncedEntity;
+
+/**
+ * Declarative mapping of one Odoo model onto a JPA entity. Every Spring bean
+ * implementing this interface is picked up by {@link OdooSyncEngine}; paging,
+ * watermarks, fingerprints and batching are handled there.
+ *
+ * @param <E>
+ *            the entity the Odoo records are stored as
+ */
+public interface OdooSyncDefinition<E extends OdooSyncedEntity> {
+
+    /** Key of this sync's watermark in {@code odoo_sync_state}. */
+    String name();
+
+    /** Odoo model to read, e.g. {@code project.project}. */
+    String model();
+
+    /**
+     * Odoo fields mapped onto the entity. Their values make up the record's
+     * fingerprint; {@code id} and {@code write_date} are fetched regardless.
+     */
+    List<String> fields();
+
+    /** Base search domain; empty means every record of the model. */
+    default List<Object> domain() {
+        return List.of();
+    }
+
+    /**
+     * Stored fingerprint of each given Odoo id that already has a row (the
+     * value may be {@code null}). Should read the fingerprint column only.
+     */
+    Map<String, String> findFingerprints(Collection<String> odooIds);
+
+    /** Rows already stored for the given Odoo ids; only called for changed records. */
+    List<E> findByOdooIds(Collection<String> odooIds);
+
+    E newEntity(String odooId);
+
+    /** Copies the mapped fields of an Odoo record onto the entity. */
+    void apply(E entity, Map<String, Object> odooRecord);
+
+    /** Stores new and changed rows, in one transaction per call. */
+    void saveAll(List<E> entities);
+}
@@ -0,0 +1,271 @@
+package uy.com.bay.cruds.tasks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import uy.com.bay.cruds.config.OdooConfig;
+import uy.com.bay.cruds.data.OdooSyncState;
+import uy.com.bay.cruds.data.OdooSyncedEntity;
+import uy.com.bay.cruds.services.OdooService;
+import uy.com.bay.cruds.services.OdooSyncStateService;
+
+/**
+ * Runs every {@link OdooSyncDefinition}: incremental or full fetch depending
+ * on the stored watermark, page by page, inserting new records and updating
+ * only those whose fingerprint changed. Independent models run concurrently
+ * on virtual threads, at most {@code odoo.sync-concurrency} against Odoo at a
+ * time.
+ * <p>
+ * Publishes {@code odoo.sync.duration}, {@code odoo.sync.phase} (local
+ * lookups and writes, to tell them apart from the {@code odoo.rpc} time),
+ * {@code odoo.sync.records} and {@code odoo.sync.last.success}, all tagged by
+ * sync name.
+ */
+@Component
+public class OdooSyncEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(OdooSyncEngine.class);
+
+    private final OdooService odooService;
+    private final OdooSyncStateService syncStateService;
+    private final List<OdooSyncDefinition<?>> definitions;
+    private final Semaphore odooPermits;
+    private final MeterRegistry meterRegistry;
+    // Epoch seconds of each sync's last completed run, 0 until one completes
+    private final Map<String, AtomicLong> lastSuccess = new HashMap<>();
+
+    public OdooSyncEngine(OdooService odooService, OdooSyncStateService syncStateService,
+            List<OdooSyncDefinition<?>> definitions, OdooConfig odooConfig, MeterRegistry meterRegistry) {
+        this.odooService = odooService;
+        this.syncStateService = syncStateService;
+        this.definitions = List.copyOf(definitions);
+        this.odooPermits = new Semaphore(Math.max(1, odooConfig.getSyncConcurrency()));
+        this.meterRegistry = meterRegistry;
+        for (OdooSyncDefinition<?> definition : this.definitions) {
+            AtomicLong lastSuccessSeconds = new AtomicLong();
+            lastSuccess.put(definition.name(), lastSuccessSeconds);
+            Gauge.builder("odoo.sync.last.success", lastSuccessSeconds, AtomicLong::get)
+                    .description("Epoch seconds of the last completed Odoo sync")
+                    .baseUnit("seconds")
+                    .tag("sync", definition.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    public List<OdooSyncDefinition<?>> getDefinitions() {
+        return definitions;
+    }
+
+    /**
+     * Syncs all registered models and waits for every one of them to finish.
+     * {@code renewLease} runs before each model and each page; if it throws,
+     * the models still running stop without advancing their watermark.
+     */
+    public List<OdooSyncResult> runAll(Runnable renewLease) {
+        List<OdooSyncResult> results = new ArrayList<>(definitions.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<OdooSyncResult>> futures = new ArrayList<>(definitions.size());
+            for (OdooSyncDefinition<?> definition : definitions) {
+                futures.add(executor.submit(() -> runWithPermit(definition, renewLease)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                String name = definitions.get(i).name();
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    logger.error("Odoo sync '{}' failed: {}", name, e.getCause().getMessage(), e.getCause());
+                    OdooSyncResult failed = new OdooSyncResult(name, false, false, 0, 0, 0, 0, 0, Duration.ZERO);
+                    recordMetrics(failed);
+                    results.add(failed);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    logger.warn("Interrupted while waiting for Odoo sync '{}'.", name);
+                    break;
+                }
+            }
+        }
+        return results;
+    }
+
+    private OdooSyncResult runWithPermit(OdooSyncDefinition<?> definition, Runnable renewLease)
+            throws InterruptedException {
+        odooPermits.acquire();
+        try {
+            renewLease.run();
+            return run(definition, renewLease);
+        } finally {
+            odooPermits.release();
+        }
+    }
+
+    public <E extends OdooSyncedEntity> OdooSyncResult run(OdooSyncDefinition<E> definition, Runnable renewLease) {
+        long start = System.nanoTime();
+        OdooSyncState state = syncStateService.getOrCreate(definition.name());
+        boolean fullSync = syncStateService.isFullSyncDue(state);
+        String watermark = fullSync ? null : state.getLastWriteDate();
+        logger.info("Starting Odoo sync '{}' ({})...", definition.name(),
+                fullSync ? "full" : "incremental since " + watermark);
+
+        Run run = new Run();
+        boolean completed = odooService.forEachPage(definition.model(), definition.domain(), definition.fields(),
+                watermark, page -> {
+                    renewLease.run();
+                    processPage(definition, page, run);
+                });
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        OdooSyncResult result = new OdooSyncResult(definition.name(), fullSync, completed, run.fetched, run.inserted,
+                run.updated, run.unchanged, run.skipped, elapsed);
+        recordMetrics(result);
+
+        if (!completed) {
+            // Pages already stored are kept; the watermark stays put so the next run picks up the rest
+            logger.warn("Odoo sync '{}' aborted after {} record(s). Watermark not advanced.", definition.name(),
+                    run.fetched);
+            return result;
+        }
+        lastSuccess.get(definition.name()).set(System.currentTimeMillis() / 1000);
+        if (run.fetched == 0) {
+            logger.info("Odoo sync '{}': no records fetched.", definition.name());
+            return result;
+        }
+
+        syncStateService.recordSuccess(state, run.highestWriteDate, fullSync);
+        logger.info("Odoo sync '{}' finished in {} ms. Added {}, updated {}, {} unchanged, {} skipped.",
+                definition.name(), elapsed.toMillis(), run.inserted, run.updated, run.unchanged, run.skipped);
+        return result;
+    }
+
+    private <E extends OdooSyncedEntity> void processPage(OdooSyncDefinition<E> definition,
+            List<Map<String, Object>> odooRecords, Run run) {
+        Map<String, Map<String, Object>> recordsByOdooId = new LinkedHashMap<>();
+        for (Map<String, Object> odooRecord : odooRecords) {
+            run.fetched++;
+            Object writeDateObj = odooRecord.get("write_date");
+            if (writeDateObj instanceof String writeDate
+                    && (run.highestWriteDate == null || writeDate.compareTo(run.highestWriteDate) > 0)) {
+                run.highestWriteDate = writeDate;
+            }
+
+            Object odooIdObj = odooRecord.get("id");
+            String odooId = odooIdObj != null ? String.valueOf(odooIdObj) : null;
+            if (odooId == null || odooId.trim().isEmpty()) {
+                logger.debug("Skipping Odoo {} record with null or empty ID.", definition.model());
+                run.skipped++;
+                continue;
+            }
+            recordsByOdooId.put(odooId, odooRecord);
+        }
+        if (recordsByOdooId.isEmpty()) {
+            return;
+        }
+
+        // Classify the page from the stored fingerprints alone; only changed rows are loaded as entities
+        Map<String, String> storedFingerprints = phaseTimer(definition, "lookup")
+                .record(() -> definition.findFingerprints(recordsByOdooId.keySet()));
+        List<E> toSave = new ArrayList<>();
+        Map<String, String> changedFingerprints = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, Object>> entry : recordsByOdooId.entrySet()) {
+            String fingerprint = fingerprint(definition, entry.getValue());
+            if (!storedFingerprints.containsKey(entry.getKey())) {
+                E entity = definition.newEntity(entry.getKey());
+                definition.apply(entity, entry.getValue());
+                entity.setOdooFingerprint(fingerprint);
+                toSave.add(entity);
+                run.inserted++;
+            } else if (fingerprint.equals(storedFingerprints.get(entry.getKey()))) {
+                // Odoo content unchanged since the last sync: no write at all
+                run.unchanged++;
+            } else {
+                changedFingerprints.put(entry.getKey(), fingerprint);
+            }
+        }
+
+        if (!changedFingerprints.isEmpty()) {
+            List<E> changedEntities = phaseTimer(definition, "lookup")
+                    .record(() -> definition.findByOdooIds(changedFingerprints.keySet()));
+            for (E entity : changedEntities) {
+                String fingerprint = changedFingerprints.remove(entity.getOdooId());
+                if (fingerprint == null) {
+                    continue;
+                }
+                definition.apply(entity, recordsByOdooId.get(entity.getOdooId()));
+                entity.setOdooFingerprint(fingerprint);
+                toSave.add(entity);
+                run.updated++;
+            }
+        }
+
+        if (!toSave.isEmpty()) {
+            // One transaction per page, written in JDBC batches
+            phaseTimer(definition, "write").record(() -> definition.saveAll(toSave));
+        }
+    }
+
+    private Timer phaseTimer(OdooSyncDefinition<?> definition, String phase) {
+        return Timer.builder("odoo.sync.phase")
+                .description("Local work of an Odoo sync, per page")
+                .tag("sync", definition.name())
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    private void recordMetrics(OdooSyncResult result) {
+        Timer.builder("odoo.sync.duration")
+                .description("Duration of one model's Odoo sync")
+                .tag("sync", result.name())
+                .tag("mode", result.fullSync() ? "full" : "incremental")
+                .tag("outcome", result.completed() ? "completed" : "aborted")
+                .register(meterRegistry)
+                .record(result.elapsed().toNanos(), TimeUnit.NANOSECONDS);
+        countRecords(result.name(), "fetched", result.fetched());
+        countRecords(result.name(), "inserted", result.inserted());
+        countRecords(result.name(), "updated", result.updated());
+        countRecords(result.name(), "unchanged", result.unchanged());
+        countRecords(result.name(), "skipped", result.skipped());
+    }
+
+    private void countRecords(String syncName, String outcome, int count) {
+        Counter.builder("odoo.sync.records")
+                .description("Odoo records processed by the sync")
+                .tag("sync", syncName)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    private static String fingerprint(OdooSyncDefinition<?> definition, Map<String, Object> odooRecord) {
+        List<String> fields = definition.fields();
+        Object[] values = new Object[fields.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = odooRecord.get(fields.get(i));
+        }
+        return OdooFingerprint.of(values);
+    }
+
+    /** Running totals of one model's sync, carried across pages. */
+    private static class Run {
+        private String highestWriteDate;
+        private int fetched;
+        private int inserted;
+        private int updated;
+        private int unchanged;
+        private int skipped;
+    }
+}
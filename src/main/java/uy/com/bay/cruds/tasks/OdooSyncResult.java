@@ -0,0 +1,16 @@
+package uy.com.bay.cruds.tasks;
+
+import java.time.Duration;
+
+/**
+ * Outcome of syncing one Odoo model.
+ *
+ * @param completed
+ *            {@code false} if fetching or storing stopped on an error; rows
+ *            stored before that are kept but the watermark is not advanced
+ * @param skipped
+ *            records without a usable Odoo id
+ */
+public record OdooSyncResult(String name, boolean fullSync, boolean completed, int fetched, int inserted,
+        int updated, int unchanged, int skipped, Duration elapsed) {
+}
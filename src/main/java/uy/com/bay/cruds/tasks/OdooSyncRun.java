@@ -0,0 +1,71 @@
+package uy.com.bay.cruds.tasks;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One execution of the Odoo sync, as seen by whoever triggered or joined it.
+ */
+public class OdooSyncRun {
+
+    public enum Status {
+        /** Waiting for the executor or running. */
+        RUNNING,
+        COMPLETED,
+        /** At least one model failed or stopped early. */
+        FAILED,
+        /** Another node held the sync lease. */
+        SKIPPED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String trigger;
+    private final LocalDateTime requestedAt = LocalDateTime.now();
+    private final CompletableFuture<OdooSyncRun> completion = new CompletableFuture<>();
+    private volatile Status status = Status.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile List<OdooSyncResult> results = List.of();
+
+    OdooSyncRun(String trigger) {
+        this.trigger = trigger;
+    }
+
+    void finish(Status status, List<OdooSyncResult> results) {
+        this.results = List.copyOf(results);
+        this.finishedAt = LocalDateTime.now();
+        this.status = status;
+        completion.complete(this);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /** Who started the run, e.g. {@code scheduled} or {@code manual:alice}. */
+    public String getTrigger() {
+        return trigger;
+    }
+
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public List<OdooSyncResult> getResults() {
+        return results;
+    }
+
+    /** Completes with this run once it has finished, whatever the outcome. */
+    public CompletableFuture<OdooSyncRun> completion() {
+        return completion;
+    }
+}
@@ -0,0 +1,74 @@
+package uy.com.bay.cruds.tasks;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+import uy.com.bay.cruds.data.Proyecto;
+import uy.com.bay.cruds.services.ProyectoService;
+
+/**
+ * Odoo {@code project.project} records as {@link Proyecto} rows.
+ */
+@Component
+public class ProyectoSyncDefinition implements OdooSyncDefinition<Proyecto> {
+
+    static final String SYNC_NAME = "project.project";
+
+    private final ProyectoService proyectoService;
+
+    public ProyectoSyncDefinition(ProyectoService proyectoService) {
+        this.proyectoService = proyectoService;
+    }
+
+    @Override
+    public String name() {
+        return SYNC_NAME;
+    }
+
+    @Override
+    public String model() {
+        return "project.project";
+    }
+
+    @Override
+    public List<String> fields() {
+        return List.of("name");
+    }
+
+    @Override
+    public Map<String, String> findFingerprints(Collection<String> odooIds) {
+        return proyectoService.findOdooFingerprints(odooIds);
+    }
+
+    @Override
+    public List<Proyecto> findByOdooIds(Collection<String> odooIds) {
+        return proyectoService.findByOdooIds(odooIds);
+    }
+
+    @Override
+    public Proyecto newEntity(String odooId) {
+        Proyecto proyecto = new Proyecto();
+        proyecto.setOdooId(odooId);
+        return proyecto;
+    }
+
+    @Override
+    public void apply(Proyecto proyecto, Map<String, Object> odooRecord) {
+        Object nameObj = odooRecord.get("name");
+        if (nameObj != null) {
+            proyecto.setName(String.valueOf(nameObj));
+        } else {
+            proyecto.setName("Default Name - ID: " + proyecto.getOdooId()); // Or handle as an error
+        }
+        // Map other fields as necessary and add them to fields() so they count towards the fingerprint
+        // For example:
+        // String description = (String) odooRecord.get("description");
+        // proyecto.setObs(description);
+    }
+
+    @Override
+    public void saveAll(List<Proyecto> proyectos) {
+        proyectoService.saveAll(proyectos);
+    }
+}
@@ -0,0 +1,174 @@
+package uy.com.bay.cruds.views;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.dataview.GridLazyDataView;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.value.ValueChangeMode;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Lazy, database-filtered data for a CRUD grid whose filter fields should not
+ * block the UI. Filter fields fire only once typing pauses; the count and
+ * first page for the new filter are then loaded on a virtual thread, without
+ * the session lock, and pushed to the grid when ready. A newer filter
+ * supersedes the load in flight, whose results are then dropped.
+ * Scrolling past the first page and re-sorting load synchronously as usual.
+ * <p>
+ * Counting stops at {@link #LARGE_RESULT}: a filter matching more rows than
+ * that switches the grid to an undefined size, which grows its estimate as
+ * the user scrolls instead of paying for an exact {@code COUNT} of the table.
+ */
+public class LazyGridLoader<T, F> {
+
+    public static final int FILTER_DEBOUNCE_MS = 400;
+    public static final int LARGE_RESULT = 10_000;
+
+    private static final Logger logger = LoggerFactory.getLogger(LazyGridLoader.class);
+    private static final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @FunctionalInterface
+    public interface PageFetcher<T, F> {
+        List<T> fetch(F filter, Pageable pageable);
+    }
+
+    /** Counts the rows matching {@code filter}, stopping once it passes {@code limit}. */
+    @FunctionalInterface
+    public interface Counter<F> {
+        int countUpTo(F filter, int limit);
+    }
+
+    private record Prefetch<T>(Sort sort, List<T> items, int count) {
+    }
+
+    private final Grid<T> grid;
+    private final Supplier<F> filter;
+    private final PageFetcher<T, F> fetcher;
+    private final Counter<F> counter;
+    // Bumped on every filter change or refresh; a load only applies if it is still current
+    private final AtomicLong generation = new AtomicLong();
+
+    // Only touched with the session lock held
+    private Sort sort = Sort.unsorted();
+    private Prefetch<T> prefetch;
+    private Future<?> inFlight;
+
+    public LazyGridLoader(Grid<T> grid, Supplier<F> filter, PageFetcher<T, F> fetcher, Counter<F> counter) {
+        this.grid = grid;
+        this.filter = filter;
+        this.fetcher = fetcher;
+        this.counter = counter;
+        grid.setItems(this::fetch);
+        // Counted on attach rather than here, once the view's filter fields exist
+        grid.addAttachListener(e -> refresh());
+    }
+
+    /** Debounces {@code fields} and reloads the grid in the background when any of them changes. */
+    public void listenTo(TextField... fields) {
+        for (TextField field : fields) {
+            field.setValueChangeMode(ValueChangeMode.LAZY);
+            field.setValueChangeTimeout(FILTER_DEBOUNCE_MS);
+            field.addValueChangeListener(e -> filterChanged());
+        }
+    }
+
+    public void filterChanged() {
+        long current = supersede();
+        Optional<UI> ui = grid.getUI();
+        if (ui.isEmpty()) {
+            grid.getDataProvider().refreshAll();
+            return;
+        }
+        F currentFilter = filter.get();
+        Sort currentSort = sort;
+        int pageSize = grid.getPageSize();
+        inFlight = executor.submit(() -> {
+            Prefetch<T> loaded = null;
+            try {
+                int count = counter.countUpTo(currentFilter, LARGE_RESULT);
+                List<T> items = fetcher.fetch(currentFilter, PageRequest.of(0, pageSize, currentSort));
+                loaded = new Prefetch<>(currentSort, items, count);
+            } catch (RuntimeException e) {
+                if (generation.get() == current) {
+                    logger.warn("Background grid load failed; the grid will load on the UI thread", e);
+                }
+            }
+            if (generation.get() != current) {
+                return;
+            }
+            Prefetch<T> result = loaded;
+            try {
+                ui.get().access(() -> {
+                    if (generation.get() == current) {
+                        prefetch = result;
+                        applyCount(result != null ? result.count() : countNow());
+                        grid.scrollToStart();
+                        grid.getDataProvider().refreshAll();
+                    }
+                });
+            } catch (UIDetachedException e) {
+                // The view was closed while loading
+            }
+        });
+    }
+
+    /** Reloads synchronously with the current filter, e.g. after a save or delete. */
+    public void refresh() {
+        supersede();
+        applyCount(countNow());
+        grid.getDataProvider().refreshAll();
+    }
+
+    private int countNow() {
+        return counter.countUpTo(filter.get(), LARGE_RESULT);
+    }
+
+    private void applyCount(int count) {
+        GridLazyDataView<T> dataView = grid.getLazyDataView();
+        if (count > LARGE_RESULT) {
+            dataView.setItemCountUnknown();
+            dataView.setItemCountEstimate(LARGE_RESULT);
+        } else {
+            dataView.setItemCountCallback(query -> count);
+        }
+    }
+
+    private long supersede() {
+        long current = generation.incrementAndGet();
+        prefetch = null;
+        if (inFlight != null) {
+            // No interrupt: a virtual thread interrupted in socket I/O closes the socket, and with it a
+            // pooled JDBC connection. A load already running finishes and the generation check drops it.
+            inFlight.cancel(false);
+            inFlight = null;
+        }
+        return current;
+    }
+
+    private Stream<T> fetch(Query<T, Void> query) {
+        int offset = query.getOffset();
+        int limit = query.getLimit();
+        sort = VaadinSpringDataHelpers.toSpringDataSort(query);
+        Prefetch<T> loaded = prefetch;
+        if (loaded != null && offset == 0 && loaded.sort().equals(sort)
+                && loaded.items().size() >= Math.min(limit, loaded.count())) {
+            return loaded.items().stream().limit(limit);
+        }
+        return fetcher.fetch(filter.get(), VaadinSpringDataHelpers.toSpringPageRequest(query)).stream();
+    }
+}
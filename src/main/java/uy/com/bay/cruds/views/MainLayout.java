@@ -1,8 +1,10 @@
 package uy.com.bay.cruds.views;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.applayout.AppLayout;
 import com.vaadin.flow.component.applayout.DrawerToggle;
 import com.vaadin.flow.component.avatar.Avatar;
+import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.contextmenu.MenuItem;
 import com.vaadin.flow.component.html.Anchor;
 import com.vaadin.flow.component.html.Div;
@@ -12,10 +14,12 @@ import com.vaadin.flow.component.html.Header;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.SvgIcon;
+import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.menubar.MenuBar;
 import com.vaadin.flow.component.orderedlayout.Scroller;
 import com.vaadin.flow.component.sidenav.SideNav;
 import com.vaadin.flow.component.sidenav.SideNavItem;
+import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.router.Layout;
 import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.auth.AccessAnnotationChecker;
@@ -24,10 +28,18 @@ import com.vaadin.flow.server.menu.MenuConfiguration;
 import com.vaadin.flow.server.menu.MenuEntry;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 import java.io.ByteArrayInputStream;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import uy.com.bay.cruds.data.User;
 import uy.com.bay.cruds.security.AuthenticatedUser;
+import uy.com.bay.cruds.services.SearchIndex;
+import uy.com.bay.cruds.services.SearchIndex.Hit;
+import uy.com.bay.cruds.services.SearchIndex.Kind;
+import uy.com.bay.cruds.views.encuestadores.EncuestadoresView;
+import uy.com.bay.cruds.views.proyectos.ProyectosView;
+import uy.com.bay.cruds.views.useradmin.UserAdminView;
 
 /**
  * The main view is a top-level placeholder for other views.
@@ -38,12 +50,17 @@ public class MainLayout extends AppLayout {
 
     private H1 viewTitle;
 
+    private static final int SEARCH_RESULTS = 20;
+
     private AuthenticatedUser authenticatedUser;
     private AccessAnnotationChecker accessChecker;
+    private SearchIndex searchIndex;
 
-    public MainLayout(AuthenticatedUser authenticatedUser, AccessAnnotationChecker accessChecker) {
+    public MainLayout(AuthenticatedUser authenticatedUser, AccessAnnotationChecker accessChecker,
+            SearchIndex searchIndex) {
         this.authenticatedUser = authenticatedUser;
         this.accessChecker = accessChecker;
+        this.searchIndex = searchIndex;
 
         setPrimarySection(Section.DRAWER);
         addDrawerContent();
@@ -58,6 +75,74 @@ public class MainLayout extends AppLayout {
         viewTitle.addClassNames(LumoUtility.FontSize.LARGE, LumoUtility.Margin.NONE);
 
         addToNavbar(true, toggle, viewTitle);
+        if (authenticatedUser.get().isPresent()) {
+            addToNavbar(true, createSearch());
+        }
+    }
+
+    /**
+     * One box for a fragment of any proyecto, encuestador or user (name, id,
+     * CI, username), answered from the in-memory {@link SearchIndex}; picking
+     * a result opens it in its view. Only kinds whose view the user may open
+     * are offered.
+     */
+    private ComboBox<Hit> createSearch() {
+        Set<Kind> kinds = EnumSet.noneOf(Kind.class);
+        if (accessChecker.hasAccess(ProyectosView.class)) {
+            kinds.add(Kind.PROYECTO);
+        }
+        if (accessChecker.hasAccess(EncuestadoresView.class)) {
+            kinds.add(Kind.ENCUESTADOR);
+        }
+        if (accessChecker.hasAccess(UserAdminView.class)) {
+            kinds.add(Kind.USUARIO);
+        }
+
+        ComboBox<Hit> search = new ComboBox<>();
+        search.setPlaceholder("Buscar");
+        search.setAriaLabel("Buscar proyectos, encuestadores y usuarios");
+        search.setPrefixComponent(VaadinIcon.SEARCH.create());
+        search.setWidth("24em");
+        search.addClassNames(LumoUtility.Margin.Left.AUTO, LumoUtility.Margin.Right.MEDIUM);
+        search.setItems(query -> searchIndex
+                .search(query.getFilter().orElse(""), kinds,
+                        Math.min(query.getOffset() + query.getLimit(), SEARCH_RESULTS))
+                .stream()
+                .skip(query.getOffset()));
+        search.setItemLabelGenerator(Hit::title);
+        search.setRenderer(new ComponentRenderer<>(hit -> {
+            Span kind = new Span(label(hit.kind()));
+            kind.getElement().setAttribute("theme", "badge small contrast");
+            Span detail = new Span(hit.detail());
+            detail.addClassNames(LumoUtility.FontSize.SMALL, LumoUtility.TextColor.SECONDARY);
+            Div item = new Div(kind, new Span(hit.title()), detail);
+            item.addClassNames(LumoUtility.Display.FLEX, LumoUtility.AlignItems.BASELINE, LumoUtility.Gap.SMALL);
+            return item;
+        }));
+        search.addValueChangeListener(e -> {
+            Hit hit = e.getValue();
+            if (hit != null) {
+                search.clear();
+                UI.getCurrent().navigate(route(hit));
+            }
+        });
+        return search;
+    }
+
+    private static String label(Kind kind) {
+        return switch (kind) {
+        case PROYECTO -> "Proyecto";
+        case ENCUESTADOR -> "Encuestador";
+        case USUARIO -> "Usuario";
+        };
+    }
+
+    private static String route(Hit hit) {
+        return switch (hit.kind()) {
+        case PROYECTO -> String.format("/%s/edit", hit.id());
+        case ENCUESTADOR -> String.format("surveyors/%s/edit", hit.id());
+        case USUARIO -> String.format("useradmin/%s/edit", hit.id());
+        };
     }
 
     private void addDrawerContent() {
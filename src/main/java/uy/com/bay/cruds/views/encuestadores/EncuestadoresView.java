@@ -23,14 +23,14 @@ import com.vaadin.flow.router.BeforeEnterObserver;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
-import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import jakarta.annotation.security.PermitAll;
 import java.util.Optional;
-import java.util.stream.Stream;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.vaadin.lineawesome.LineAwesomeIconUrl;
 import uy.com.bay.cruds.data.Encuestador;
 import uy.com.bay.cruds.services.EncuestadorService;
+import uy.com.bay.cruds.views.LazyGridLoader;
 
 @PageTitle("Encuestadores")
 @Route("surveyors/:encuestadorID?/:action?(edit)")
@@ -57,6 +57,7 @@ public class EncuestadoresView extends Div implements BeforeEnterObserver {
     private Button deleteButton; // Added deleteButton declaration
 
     private final BeanValidationBinder<Encuestador> binder;
+    private final LazyGridLoader<Encuestador, Specification<Encuestador>> gridLoader;
 
     private Encuestador encuestador;
     private Div editorLayoutDiv; // Added field declaration
@@ -81,22 +82,19 @@ public class EncuestadoresView extends Div implements BeforeEnterObserver {
          
 
         firstNameFilter = new TextField();
-        firstNameFilter.setPlaceholder("Nombre...");
+        firstNameFilter.setPlaceholder("Nombre empieza con...");
         firstNameFilter.setClearButtonVisible(true);
         firstNameFilter.setWidth("100%");
-        firstNameFilter.addValueChangeListener(e -> refreshGrid()); // Asume que refreshGrid() llama a dataProvider.refreshAll()
 
         lastNameFilter = new TextField();
-        lastNameFilter.setPlaceholder("Apellido...");
+        lastNameFilter.setPlaceholder("Apellido empieza con...");
         lastNameFilter.setClearButtonVisible(true);
         lastNameFilter.setWidth("100%");
-        lastNameFilter.addValueChangeListener(e -> refreshGrid());
 
         ciFilter = new TextField();
-        ciFilter.setPlaceholder("CI...");
+        ciFilter.setPlaceholder("CI empieza con...");
         ciFilter.setClearButtonVisible(true);
         ciFilter.setWidth("100%");
-        ciFilter.addValueChangeListener(e -> refreshGrid());
  
         setupButtonListeners(); // Call to new method
  
@@ -110,26 +108,12 @@ public class EncuestadoresView extends Div implements BeforeEnterObserver {
         grid.addColumn("lastName").setHeader("Apellido").setAutoWidth(true);
         grid.addColumn("ci").setHeader("CI").setAutoWidth(true);
 
-        grid.setItems(query -> {
-            String fnameFilter = firstNameFilter.getValue() != null ? firstNameFilter.getValue().trim().toLowerCase() : "";
-            String lnameFilter = lastNameFilter.getValue() != null ? lastNameFilter.getValue().trim().toLowerCase() : "";
-            String ciValFilter = ciFilter.getValue() != null ? ciFilter.getValue().trim().toLowerCase() : "";
-
-            // Obtener el stream del servicio
-            java.util.stream.Stream<Encuestador> stream = encuestadorService.list(VaadinSpringDataHelpers.toSpringPageRequest(query)).stream();
-
-            // Aplicar filtros si hay texto en los campos de filtro
-            if (!fnameFilter.isEmpty()) {
-                stream = stream.filter(enc -> enc.getFirstName() != null && enc.getFirstName().toLowerCase().contains(fnameFilter));
-            }
-            if (!lnameFilter.isEmpty()) {
-                stream = stream.filter(enc -> enc.getLastName() != null && enc.getLastName().toLowerCase().contains(lnameFilter));
-            }
-            if (!ciValFilter.isEmpty()) {
-                stream = stream.filter(enc -> enc.getCi() != null && enc.getCi().toLowerCase().contains(ciValFilter));
-            }
-            return stream;
-        });
+        // Filtering, paging and counting all run in the database, on the indexed search columns,
+        // off the UI thread while typing
+        gridLoader = new LazyGridLoader<>(grid, this::createFilter,
+                (filter, pageable) -> encuestadorService.slice(pageable, filter).getContent(),
+                encuestadorService::countUpTo);
+        gridLoader.listenTo(firstNameFilter, lastNameFilter, ciFilter);
         grid.addThemeVariants(GridVariant.LUMO_NO_BORDER);
 
         // when a row is selected or deselected, populate form
@@ -286,9 +270,13 @@ public class EncuestadoresView extends Div implements BeforeEnterObserver {
         splitLayout.addToPrimary(wrapper);
     }
 
+    private Specification<Encuestador> createFilter() {
+        return encuestadorService.search(firstNameFilter.getValue(), lastNameFilter.getValue(), ciFilter.getValue());
+    }
+
     private void refreshGrid() {
         grid.select(null);
-        grid.getDataProvider().refreshAll();
+        gridLoader.refresh();
     }
 
     private void clearForm() {
@@ -24,14 +24,20 @@ import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.RouteAlias;
-import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import jakarta.annotation.security.PermitAll;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.function.Function;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.vaadin.lineawesome.LineAwesomeIconUrl;
 import uy.com.bay.cruds.data.Proyecto;
+import uy.com.bay.cruds.data.User;
+import uy.com.bay.cruds.security.AuthenticatedUser;
+import uy.com.bay.cruds.services.FieldFilters;
 import uy.com.bay.cruds.services.ProyectoService;
+import uy.com.bay.cruds.tasks.OdooSyncCoordinator;
+import uy.com.bay.cruds.tasks.OdooSyncRun;
+import uy.com.bay.cruds.views.LazyGridLoader;
 
 @PageTitle("Proyectos")
 @Route("/:proyectoID?/:action?(edit)")
@@ -52,6 +58,7 @@ public class ProyectosView extends Div implements BeforeEnterObserver {
     private TextField obs;
 
     private Button addButton;
+    private Button syncButton;
     private TextField nameFilter;
     private TextField alchemerIdFilter;
     private TextField doobloIdFilter;
@@ -63,14 +70,20 @@ public class ProyectosView extends Div implements BeforeEnterObserver {
     private Button deleteButton; // Added deleteButton declaration
 
     private final BeanValidationBinder<Proyecto> binder;
+    private final LazyGridLoader<Proyecto, Specification<Proyecto>> gridLoader;
 
     private Proyecto proyecto;
     private Div editorLayoutDiv; // Added field declaration
 
     private final ProyectoService proyectoService;
+    private final OdooSyncCoordinator syncCoordinator;
+    private final AuthenticatedUser authenticatedUser;
 
-    public ProyectosView(ProyectoService proyectoService) {
+    public ProyectosView(ProyectoService proyectoService, OdooSyncCoordinator syncCoordinator,
+            AuthenticatedUser authenticatedUser) {
         this.proyectoService = proyectoService;
+        this.syncCoordinator = syncCoordinator;
+        this.authenticatedUser = authenticatedUser;
         this.binder = new BeanValidationBinder<>(Proyecto.class); // Moved initialization here
         addClassNames("proyectos-view");
 
@@ -80,6 +93,9 @@ public class ProyectosView extends Div implements BeforeEnterObserver {
         addButton = new Button("Agregar Proyecto");
         addButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY); // Optional: Add theme for consistency
 
+        syncButton = new Button("Sincronizar Odoo");
+        syncButton.setTooltipText("Trae ahora los proyectos nuevos o modificados en Odoo");
+
         deleteButton = new Button("Borrar");
         deleteButton.addThemeVariants(ButtonVariant.LUMO_ERROR);
         deleteButton.setEnabled(false);
@@ -89,31 +105,26 @@ public class ProyectosView extends Div implements BeforeEnterObserver {
         nameFilter.setPlaceholder("Nombre...");
         nameFilter.setClearButtonVisible(true);
         nameFilter.setWidth("100%");
-        nameFilter.addValueChangeListener(e -> refreshGrid());
 
         alchemerIdFilter = new TextField();
-        alchemerIdFilter.setPlaceholder("Alchemer ID...");
+        alchemerIdFilter.setPlaceholder("Alchemer ID empieza con...");
         alchemerIdFilter.setClearButtonVisible(true);
         alchemerIdFilter.setWidth("100%");
-        alchemerIdFilter.addValueChangeListener(e -> refreshGrid());
 
         doobloIdFilter = new TextField();
-        doobloIdFilter.setPlaceholder("Dooblo ID...");
+        doobloIdFilter.setPlaceholder("Dooblo ID empieza con...");
         doobloIdFilter.setClearButtonVisible(true);
         doobloIdFilter.setWidth("100%");
-        doobloIdFilter.addValueChangeListener(e -> refreshGrid());
 
         odooIdFilter = new TextField();
-        odooIdFilter.setPlaceholder("Odoo ID...");
+        odooIdFilter.setPlaceholder("Odoo ID empieza con...");
         odooIdFilter.setClearButtonVisible(true);
         odooIdFilter.setWidth("100%");
-        odooIdFilter.addValueChangeListener(e -> refreshGrid());
 
         obsFilter = new TextField();
         obsFilter.setPlaceholder("Obs...");
         obsFilter.setClearButtonVisible(true);
         obsFilter.setWidth("100%");
-        obsFilter.addValueChangeListener(e -> refreshGrid());
  
         setupButtonListeners(); // Call to new method
  
@@ -129,32 +140,10 @@ public class ProyectosView extends Div implements BeforeEnterObserver {
         grid.addColumn("odooId").setHeader("Odoo ID").setAutoWidth(true);
         grid.addColumn("obs").setHeader("Observaciones").setAutoWidth(true);
 
-        grid.setItems(query -> {
-            String nameVal = nameFilter.getValue() != null ? nameFilter.getValue().trim().toLowerCase() : "";
-            String alchemerVal = alchemerIdFilter.getValue() != null ? alchemerIdFilter.getValue().trim().toLowerCase() : "";
-            String doobloVal = doobloIdFilter.getValue() != null ? doobloIdFilter.getValue().trim().toLowerCase() : "";
-            String odooVal = odooIdFilter.getValue() != null ? odooIdFilter.getValue().trim().toLowerCase() : "";
-            String obsVal = obsFilter.getValue() != null ? obsFilter.getValue().trim().toLowerCase() : "";
-
-            java.util.stream.Stream<Proyecto> stream = proyectoService.list(VaadinSpringDataHelpers.toSpringPageRequest(query)).stream();
-
-            if (!nameVal.isEmpty()) {
-                stream = stream.filter(p -> p.getName() != null && p.getName().toLowerCase().contains(nameVal));
-            }
-            if (!alchemerVal.isEmpty()) {
-                stream = stream.filter(p -> p.getAlchemerId() != null && p.getAlchemerId().toLowerCase().contains(alchemerVal));
-            }
-            if (!doobloVal.isEmpty()) {
-                stream = stream.filter(p -> p.getDoobloId() != null && p.getDoobloId().toLowerCase().contains(doobloVal));
-            }
-            if (!odooVal.isEmpty()) {
-                stream = stream.filter(p -> p.getOdooId() != null && p.getOdooId().toLowerCase().contains(odooVal));
-            }
-            if (!obsVal.isEmpty()) {
-                stream = stream.filter(p -> p.getObs() != null && p.getObs().toLowerCase().contains(obsVal));
-            }
-            return stream;
-        });
+        // Filtering, paging and counting all run in the database, off the UI thread while typing
+        gridLoader = new LazyGridLoader<>(grid, this::createFilter,
+                (filter, pageable) -> proyectoService.slice(pageable, filter).getContent(), proyectoService::countUpTo);
+        gridLoader.listenTo(nameFilter, alchemerIdFilter, doobloIdFilter, odooIdFilter, obsFilter);
         grid.addThemeVariants(GridVariant.LUMO_NO_BORDER);
 
         // when a row is selected or deselected, populate form
@@ -188,6 +177,8 @@ public class ProyectosView extends Div implements BeforeEnterObserver {
             }
         });
 
+        syncButton.addClickListener(e -> syncWithOdoo());
+
         deleteButton.addClickListener(e -> {
             if (this.proyecto != null && this.proyecto.getId() != null) {
                 ConfirmDialog dialog = new ConfirmDialog();
@@ -296,7 +287,7 @@ public class ProyectosView extends Div implements BeforeEnterObserver {
 
         // Title Layout
         H2 title = new H2("Proyectos");
-        HorizontalLayout titleLayout = new HorizontalLayout(title, addButton);
+        HorizontalLayout titleLayout = new HorizontalLayout(title, syncButton, addButton);
         titleLayout.setWidthFull();
         titleLayout.setAlignItems(Alignment.BASELINE); // Align items nicely
         titleLayout.setFlexGrow(1, title); // Title takes available space
@@ -312,9 +303,57 @@ public class ProyectosView extends Div implements BeforeEnterObserver {
         splitLayout.addToPrimary(wrapper);
     }
 
+    /**
+     * Starts (or joins) an Odoo sync run and refreshes the grid when it ends;
+     * the result is pushed to the browser without a reload.
+     */
+    private void syncWithOdoo() {
+        String requestedBy = authenticatedUser.get().map(User::getUsername).orElse("ui");
+        OdooSyncRun run = syncCoordinator.requestSync(requestedBy);
+        syncButton.setEnabled(false);
+        Notification.show("Sincronización con Odoo en curso...", 3000, Notification.Position.BOTTOM_START);
+
+        UI ui = UI.getCurrent();
+        run.completion().thenAccept(finished -> ui.access(() -> {
+            syncButton.setEnabled(true);
+            refreshGrid();
+            if (finished.getStatus() == OdooSyncRun.Status.COMPLETED) {
+                int changed = finished.getResults().stream().mapToInt(r -> r.inserted() + r.updated()).sum();
+                Notification.show("Sincronización terminada: " + changed + " proyecto(s) nuevos o actualizados.",
+                        3000, Notification.Position.BOTTOM_START);
+            } else if (finished.getStatus() == OdooSyncRun.Status.SKIPPED) {
+                Notification.show("Otra instancia está sincronizando con Odoo; intente en unos minutos.", 5000,
+                        Notification.Position.MIDDLE);
+            } else {
+                Notification.show("La sincronización con Odoo falló. Revise los logs.", 5000,
+                        Notification.Position.MIDDLE).addThemeVariants(NotificationVariant.LUMO_ERROR);
+            }
+        }));
+    }
+
+    /**
+     * The filter fields as one specification. The id columns match by prefix
+     * so their indexes apply; name and observations keep matching anywhere in
+     * the text. Case-insensitive through the column collation.
+     */
+    private Specification<Proyecto> createFilter() {
+        return FieldFilters.allOf(
+                filter(nameFilter, value -> FieldFilters.contains("name", value)),
+                filter(alchemerIdFilter, value -> FieldFilters.startsWith("alchemerId", value)),
+                filter(doobloIdFilter, value -> FieldFilters.startsWith("doobloId", value)),
+                filter(odooIdFilter, value -> FieldFilters.startsWith("odooId", value)),
+                filter(obsFilter, value -> FieldFilters.contains("obs", value)));
+    }
+
+    private static Specification<Proyecto> filter(TextField field,
+            Function<String, Specification<Proyecto>> match) {
+        String value = field.getValue().trim();
+        return value.isEmpty() ? null : match.apply(value);
+    }
+
     private void refreshGrid() {
         grid.select(null);
-        grid.getDataProvider().refreshAll();
+        gridLoader.refresh();
     }
 
     private void clearForm() {
@@ -3,6 +3,7 @@ package uy.com.bay.cruds.views.useradmin;
 import java.util.Optional;
 import java.util.Set;
 
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.vaadin.lineawesome.LineAwesomeIconUrl;
 
@@ -34,12 +35,13 @@ import com.vaadin.flow.router.BeforeEnterObserver;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
-import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 
 import jakarta.annotation.security.RolesAllowed;
 import uy.com.bay.cruds.data.Role;
 import uy.com.bay.cruds.data.User;
+import uy.com.bay.cruds.services.FieldFilters;
 import uy.com.bay.cruds.services.UserService;
+import uy.com.bay.cruds.views.LazyGridLoader;
 
 @PageTitle("Usuarios")
 @Route("useradmin/:samplePersonID?/:action?(edit)")
@@ -64,6 +66,7 @@ public class UserAdminView extends Div implements BeforeEnterObserver {
 	private Button deleteButton; // Added deleteButton declaration
 
 	private final BeanValidationBinder<User> binder;
+	private final LazyGridLoader<User, Specification<User>> gridLoader;
 
 	private User user;
 	private Div editorLayoutDiv; // Added field declaration
@@ -90,7 +93,6 @@ public class UserAdminView extends Div implements BeforeEnterObserver {
 		usernameFilterField.setPlaceholder("Filtrar por usuario...");
 		usernameFilterField.setClearButtonVisible(true);
 		usernameFilterField.setWidth("100%");
-		usernameFilterField.addValueChangeListener(e -> grid.getDataProvider().refreshAll());
 
 		// Initialize deleteButton before layout creation
 		deleteButton = new Button("Borrar");
@@ -115,18 +117,10 @@ public class UserAdminView extends Div implements BeforeEnterObserver {
 			return "";
 		}).setHeader("Rol").setAutoWidth(true);
 
-		grid.setItems(query -> {
-			String filterText = usernameFilterField.getValue() != null
-					? usernameFilterField.getValue().trim().toLowerCase()
-					: ""; // Usar "" si es null
-			java.util.stream.Stream<User> userStream = userService
-					.list(VaadinSpringDataHelpers.toSpringPageRequest(query)).stream();
-			if (!filterText.isEmpty()) {
-				userStream = userStream.filter(
-						user -> user.getUsername() != null && user.getUsername().toLowerCase().contains(filterText));
-			}
-			return userStream;
-		});
+		// Filtering, paging and counting all run in the database, off the UI thread while typing
+		gridLoader = new LazyGridLoader<>(grid, this::createFilter,
+				(filter, pageable) -> userService.slice(pageable, filter).getContent(), userService::countUpTo);
+		gridLoader.listenTo(usernameFilterField);
 		grid.addThemeVariants(GridVariant.LUMO_NO_BORDER);
 
 		// when a row is selected or deselected, populate form
@@ -302,9 +296,14 @@ public class UserAdminView extends Div implements BeforeEnterObserver {
 		splitLayout.addToPrimary(wrapper);
 	}
 
+	private Specification<User> createFilter() {
+		String username = usernameFilterField.getValue().trim();
+		return username.isEmpty() ? null : FieldFilters.contains("username", username);
+	}
+
 	private void refreshGrid() {
 		grid.select(null);
-		grid.getDataProvider().refreshAll();
+		gridLoader.refresh();
 	}
 
 	private void clearForm() {
@@ -0,0 +1,75 @@
+package uy.com.bay.cruds.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import uy.com.bay.cruds.services.EncuestadorImportService;
+import uy.com.bay.cruds.services.EncuestadorService;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Standalone MockMvc: a @WebMvcTest would also load Application's database initializer bean
+@ExtendWith(MockitoExtension.class)
+class EncuestadorControllerTest {
+
+    @Mock
+    private EncuestadorService encuestadorService;
+
+    @Mock
+    private EncuestadorImportService importService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new EncuestadorController(encuestadorService, importService, new ObjectMapper()))
+                .build();
+    }
+
+    @Test
+    void importJson_whenBodyIsNotJson_thenBadRequest() throws Exception {
+        mockMvc.perform(post("/api/encuestadores/import").contentType(MediaType.APPLICATION_JSON).content("nope"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    void importJson_whenBodyIsNotAnArray_thenBadRequest() throws Exception {
+        mockMvc.perform(post("/api/encuestadores/import").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\": \"Ana\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    void importJson_whenDamageFollowsTheOpeningBracket_thenReportedByTheImport() throws Exception {
+        doAnswer(invocation -> {
+            Iterator<EncuestadorImportService.Row> rows = invocation.getArgument(0);
+            UncheckedIOException damage = assertThrows(UncheckedIOException.class, rows::hasNext);
+            return new EncuestadorImportService.Result(0, 0, List.of(), damage.getMessage());
+        }).when(importService).importRows(any());
+
+        mockMvc.perform(post("/api/encuestadores/import").contentType(MediaType.APPLICATION_JSON).content("[oops"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(0))
+                .andExpect(jsonPath("$.aborted").isNotEmpty());
+    }
+}
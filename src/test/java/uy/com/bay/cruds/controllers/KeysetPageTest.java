@@ -0,0 +1,35 @@
+package uy.com.bay.cruds.controllers;
+
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetPageTest {
+
+    @Test
+    void of_withExtraRow_thenDropsItAndPointsAtLastItem() {
+        KeysetPage<Long> page = KeysetPage.of(List.of(3L, 5L, 8L), 2, Function.identity());
+
+        assertEquals(List.of(3L, 5L), page.items());
+        assertEquals(5L, page.next());
+    }
+
+    @Test
+    void of_withoutExtraRow_thenIsLastPage() {
+        assertNull(KeysetPage.of(List.of(3L, 5L), 2, Function.identity()).next());
+        assertNull(KeysetPage.of(List.of(3L), 2, Function.identity()).next());
+        assertEquals(List.of(), KeysetPage.of(List.<Long>of(), 2, Function.identity()).items());
+    }
+
+    @Test
+    void checkLimit_rejectsBelowOneAndCapsAtMax() {
+        assertEquals(1, KeysetPage.checkLimit(1));
+        assertEquals(KeysetPage.MAX_LIMIT, KeysetPage.checkLimit(KeysetPage.MAX_LIMIT + 1));
+        assertThrows(ResponseStatusException.class, () -> KeysetPage.checkLimit(0));
+    }
+}
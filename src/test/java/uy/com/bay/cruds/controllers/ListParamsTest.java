@@ -0,0 +1,69 @@
+package uy.com.bay.cruds.controllers;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ResponseStatusException;
+import uy.com.bay.cruds.data.Proyecto;
+import uy.com.bay.cruds.services.FieldFilters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ListParamsTest {
+
+    private static final Set<String> FIELDS = Set.of("name", "odooId");
+
+    @Test
+    void filter_mapsOperatorsAndSkipsPagingParams() {
+        MultiValueMap<String, String> params = params("odooId", "42", "name.prefix", "Enc", "name.contains", "50%",
+                "after", "10", "limit", "5", "all", "true", "sort", "name");
+
+        Specification<Proyecto> filter = ListParams.filter(params, FIELDS);
+
+        assertEquals(FieldFilters.allOf(FieldFilters.equalTo("odooId", "42"), FieldFilters.startsWith("name", "Enc"),
+                FieldFilters.contains("name", "50%")), filter);
+    }
+
+    @Test
+    void filter_combinesRepeatedValuesWithAnd() {
+        Specification<Proyecto> filter = ListParams.filter(params("name.contains", "a", "name.contains", "b"),
+                FIELDS);
+
+        assertEquals(FieldFilters.allOf(FieldFilters.contains("name", "a"), FieldFilters.contains("name", "b")),
+                filter);
+    }
+
+    @Test
+    void filter_rejectsUnknownFieldsAndOperators() {
+        assertThrows(ResponseStatusException.class, () -> ListParams.filter(params("nmae", "x"), FIELDS));
+        assertThrows(ResponseStatusException.class, () -> ListParams.filter(params("obs", "x"), FIELDS));
+        assertThrows(ResponseStatusException.class, () -> ListParams.filter(params("name.suffix", "x"), FIELDS));
+    }
+
+    @Test
+    void sort_parsesDirectionsAndBreaksTiesById() {
+        assertEquals(Sort.by("id"), ListParams.sort(params(), FIELDS));
+        assertEquals(Sort.by(Sort.Order.desc("name"), Sort.Order.asc("odooId"), Sort.Order.asc("id")),
+                ListParams.sort(params("sort", "name, desc", "sort", "odooId,asc"), FIELDS));
+        assertEquals(Sort.by(Sort.Order.desc("id")), ListParams.sort(params("sort", "id,desc"), FIELDS));
+    }
+
+    @Test
+    void sort_rejectsUnknownFieldsAndDirections() {
+        assertThrows(ResponseStatusException.class, () -> ListParams.sort(params("sort", "obs"), FIELDS));
+        assertThrows(ResponseStatusException.class, () -> ListParams.sort(params("sort", "name,up"), FIELDS));
+        assertThrows(ResponseStatusException.class, () -> ListParams.rejectSort(params("sort", "name")));
+    }
+
+    private static MultiValueMap<String, String> params(String... namesAndValues) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            params.add(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return params;
+    }
+}
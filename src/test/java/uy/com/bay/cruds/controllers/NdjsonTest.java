@@ -0,0 +1,57 @@
+package uy.com.bay.cruds.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import uy.com.bay.cruds.data.ProyectoDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NdjsonTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    record Row(long id, String name) {
+    }
+
+    @Test
+    void stream_writesOneCompactObjectPerLine() throws Exception {
+        List<Row> rows = List.of(new Row(1, "Proyecto 1"), new Row(2, "Proyecto 2"));
+
+        assertEquals("""
+                {"id":1,"name":"Proyecto 1"}
+                {"id":2,"name":"Proyecto 2"}
+                """, write(rows::forEach));
+    }
+
+    @Test
+    void stream_leavesTheRowVersionOut() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Ndjson.<ProyectoDto>stream(objectMapper, ProyectoControllerTest.proyectos(1)::forEach).getBody().writeTo(out);
+
+        assertEquals("""
+                {"id":1,"name":"Proyecto 1","alchemerId":"ALC-1","doobloId":null,"odooId":null,"obs":null}
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void stream_setsNdjsonContentType() {
+        assertEquals(Ndjson.MEDIA_TYPE, Ndjson.stream(objectMapper, action -> {
+        }).getHeaders().getContentType().toString());
+    }
+
+    @Test
+    void stream_withNoRows_thenWritesNothing() throws Exception {
+        assertEquals("", write(action -> {
+        }));
+    }
+
+    private String write(Consumer<Consumer<Row>> source) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Ndjson.stream(objectMapper, source).getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
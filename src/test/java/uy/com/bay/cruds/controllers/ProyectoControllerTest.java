@@ -0,0 +1,229 @@
+package uy.com.bay.cruds.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.LinkedMultiValueMap;
+import uy.com.bay.cruds.data.Proyecto;
+import uy.com.bay.cruds.data.ProyectoDto;
+import uy.com.bay.cruds.data.TableVersion;
+import uy.com.bay.cruds.services.FieldFilters;
+import uy.com.bay.cruds.services.ProyectoService;
+
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Standalone MockMvc: a @WebMvcTest would also load Application's database initializer bean
+@ExtendWith(MockitoExtension.class)
+class ProyectoControllerTest {
+
+    private static final TableVersion VERSION = new TableVersion(3L, 3L, 5L);
+
+    @Mock
+    private ProyectoService proyectoService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProyectoController(proyectoService, new ObjectMapper()))
+                .build();
+    }
+
+    @Test
+    void getProyectos_readsOneRowPastTheLimitAndReturnsNextCursor() throws Exception {
+        doReturn(VERSION).when(proyectoService).tableVersion();
+        doReturn(proyectos(11, 12, 13)).when(proyectoService).listAfter(eq(10L), any(), eq(3));
+
+        mockMvc.perform(get("/api/proyectos").param("after", "10").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[1].id").value(12))
+                .andExpect(jsonPath("$.next").value(12));
+    }
+
+    @Test
+    void getProyectos_onLastPage_thenNextIsNull() throws Exception {
+        doReturn(VERSION).when(proyectoService).tableVersion();
+        doReturn(proyectos(1)).when(proyectoService).listAfter(isNull(), any(), eq(KeysetPage.DEFAULT_LIMIT + 1));
+
+        mockMvc.perform(get("/api/proyectos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void getProyectos_capsLimitAtMax() throws Exception {
+        doReturn(VERSION).when(proyectoService).tableVersion();
+        doReturn(List.of()).when(proyectoService).listAfter(isNull(), any(), eq(KeysetPage.MAX_LIMIT + 1));
+
+        mockMvc.perform(get("/api/proyectos").param("limit", "5000")).andExpect(status().isOk());
+    }
+
+    @Test
+    void getProyectos_withLimitBelowOne_thenBadRequestWithoutQuerying() throws Exception {
+        mockMvc.perform(get("/api/proyectos").param("limit", "0")).andExpect(status().isBadRequest());
+
+        verifyNoMoreInteractions(proyectoService);
+    }
+
+    @Test
+    void getProyectos_withSortOrUnknownFilter_thenBadRequestWithoutQuerying() throws Exception {
+        mockMvc.perform(get("/api/proyectos").param("sort", "name")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/proyectos").param("nmae", "x")).andExpect(status().isBadRequest());
+
+        verifyNoMoreInteractions(proyectoService);
+    }
+
+    @Test
+    void getAllProyectos_withFilterAndSort_thenPassesThemToTheService() throws Exception {
+        doReturn(VERSION).when(proyectoService).tableVersion();
+        doReturn(proyectos(2, 1)).when(proyectoService).findAllDtos(any(), any());
+
+        mockMvc.perform(get("/api/proyectos").param("all", "true").param("name.prefix", "Pro")
+                .param("sort", "name,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2));
+
+        verify(proyectoService).findAllDtos(
+                eq(FieldFilters.allOf(List.of(FieldFilters.<Proyecto>startsWith("name", "Pro")))),
+                eq(Sort.by(Sort.Order.desc("name"), Sort.Order.asc("id"))));
+    }
+
+    @Test
+    void getAllProyectos_withAllTrue_thenReturnsPlainArray() throws Exception {
+        doReturn(VERSION).when(proyectoService).tableVersion();
+        doReturn(proyectos(1, 2)).when(proyectoService).findAllDtos(any(), any());
+
+        mockMvc.perform(get("/api/proyectos").param("all", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void exportProyectos_withNdjsonAccept_thenStreamsOneRowPerLine() throws Exception {
+        doReturn(VERSION).when(proyectoService).tableVersion();
+        doAnswer(invocation -> {
+            proyectos(1, 2).forEach(invocation.<Consumer<ProyectoDto>>getArgument(2));
+            return null;
+        }).when(proyectoService).forEach(any(), any(), any());
+
+        MvcResult result = mockMvc.perform(get("/api/proyectos").accept(Ndjson.MEDIA_TYPE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(Ndjson.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsString();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Long> ids = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            ids.add(objectMapper.readTree(line).get("id").asLong());
+        }
+        assertEquals(List.of(1L, 2L), ids);
+        assertTrue(body.endsWith("}\n"));
+    }
+
+    @Test
+    void getProyectos_whenETagMatches_thenNotModifiedWithoutReadingRows() throws Exception {
+        doReturn(VERSION).when(proyectoService).tableVersion();
+        doReturn(proyectos(1)).when(proyectoService).listAfter(any(), any(), anyInt());
+        String etag = mockMvc.perform(get("/api/proyectos").param("name", "A"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/proyectos").param("name", "A").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(proyectoService, times(1)).listAfter(any(), any(), anyInt());
+    }
+
+    @Test
+    void getProyectos_whenTableOrRequestChanged_thenETagNoLongerMatches() throws Exception {
+        doReturn(VERSION).when(proyectoService).tableVersion();
+        doReturn(proyectos(1)).when(proyectoService).listAfter(any(), any(), anyInt());
+        String etag = mockMvc.perform(get("/api/proyectos"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/proyectos").param("name", "A").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        doReturn(new TableVersion(3L, 3L, 6L)).when(proyectoService).tableVersion();
+        mockMvc.perform(get("/api/proyectos").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void exportProyectos_whenETagMatches_thenNotModifiedWithoutStreaming() throws Exception {
+        doReturn(VERSION).when(proyectoService).tableVersion();
+        String etag = ETags.forList(VERSION, "ndjson", new LinkedMultiValueMap<>());
+
+        mockMvc.perform(get("/api/proyectos").accept(Ndjson.MEDIA_TYPE).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotModified());
+
+        verify(proyectoService, never()).forEach(any(), any(), any());
+    }
+
+    @Test
+    void getProyecto_whenRowVersionMatches_thenNotModified() throws Exception {
+        doReturn(Optional.of(new ProyectoDto(7L, "Proyecto 7", null, null, null, null, 2)))
+                .when(proyectoService).getDto(7L);
+
+        mockMvc.perform(get("/api/proyectos/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETags.forRow(7L, 2)));
+        mockMvc.perform(get("/api/proyectos/7").header(HttpHeaders.IF_NONE_MATCH, ETags.forRow(7L, 2)))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/proyectos/7").header(HttpHeaders.IF_NONE_MATCH, ETags.forRow(7L, 1)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getProyecto_whenMissing_thenNotFound() throws Exception {
+        doReturn(Optional.empty()).when(proyectoService).getDto(8L);
+
+        mockMvc.perform(get("/api/proyectos/8")).andExpect(status().isNotFound());
+    }
+
+    static List<ProyectoDto> proyectos(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> new ProyectoDto(id, "Proyecto " + id, "ALC-" + id, null, null, null, 0))
+                .toList();
+    }
+}
@@ -0,0 +1,63 @@
+package uy.com.bay.cruds.data;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+// data.sql is empty, which the script initializer rejects; Application's initializer bean needs it enabled
+@TestPropertySource(properties = "spring.sql.init.data-locations=optional:classpath:no-such-data.sql")
+@Import(EncuestadorSearchInitializer.class)
+// The initializer runs its own transaction, as it does at startup
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EncuestadorSearchInitializerTest {
+
+    @Autowired
+    private EncuestadorSearchInitializer initializer;
+
+    @Autowired
+    private EncuestadorRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void run_fillsSearchColumnsLeftNullByOlderRows() {
+        // More rows than one batch, written as before the search columns existed
+        for (int i = 0; i < 501; i++) {
+            jdbcTemplate.update("insert into encuestador (id, version, first_name, last_name, ci) "
+                    + "values (next value for idgenerator, 0, ?, 'Pérez', ?)", "José " + i, "1.234." + i);
+        }
+        jdbcTemplate.update("insert into encuestador (id, version, first_name) "
+                + "values (next value for idgenerator, 0, 'ÁNGELA')");
+
+        initializer.run(null);
+
+        List<Encuestador> rows = repository.findAll(Sort.by("id"));
+        assertEquals(502, rows.size());
+        assertEquals("jose 0", rows.get(0).getFirstNameSearch());
+        assertEquals("perez", rows.get(0).getLastNameSearch());
+        assertEquals("12340", rows.get(0).getCiDigits());
+        assertEquals("jose 500", rows.get(500).getFirstNameSearch());
+        assertEquals("angela", rows.get(501).getFirstNameSearch());
+        assertNull(rows.get(501).getLastNameSearch());
+        assertEquals(List.of(), repository.findWithoutSearchColumns(PageRequest.ofSize(1)));
+    }
+}
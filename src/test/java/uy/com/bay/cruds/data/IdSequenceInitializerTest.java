@@ -0,0 +1,66 @@
+package uy.com.bay.cruds.data;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+// data.sql is empty, which the script initializer rejects; Application's initializer bean needs it enabled
+@TestPropertySource(properties = "spring.sql.init.data-locations=optional:classpath:no-such-data.sql")
+@Import(IdSequenceInitializer.class)
+// The initializer runs its own transaction, as it does at startup
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdSequenceInitializerTest {
+
+    @Autowired
+    private IdSequenceInitializer initializer;
+
+    @Autowired
+    private ProyectoRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void afterSingletonsInstantiated_withStoredIdAboveSequence_thenRestartsPastIt() {
+        long legacyId = nextValue() + 500;
+        jdbcTemplate.update("insert into proyecto (id, version, name) values (?, 0, 'Legacy')", legacyId);
+
+        initializer.afterSingletonsInstantiated();
+        Proyecto proyecto = new Proyecto();
+        proyecto.setName("Nuevo");
+
+        assertTrue(repository.saveAndFlush(proyecto).getId() > legacyId);
+    }
+
+    @Test
+    void afterSingletonsInstantiated_whenSequenceIsAhead_thenLeavesItAlone() {
+        initializer.afterSingletonsInstantiated();
+        long before = nextValue();
+
+        initializer.afterSingletonsInstantiated();
+
+        assertEquals(before, nextValue());
+    }
+
+    /** The value the sequence hands out next, read without drawing it. */
+    private long nextValue() {
+        return jdbcTemplate.queryForObject(
+                "select base_value from information_schema.sequences where sequence_name = 'IDGENERATOR'",
+                Long.class);
+    }
+}
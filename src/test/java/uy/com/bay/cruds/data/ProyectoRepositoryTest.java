@@ -0,0 +1,54 @@
+package uy.com.bay.cruds.data;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+// data.sql is empty, which the script initializer rejects; Application's initializer bean needs it enabled
+@TestPropertySource(properties = "spring.sql.init.data-locations=optional:classpath:no-such-data.sql")
+class ProyectoRepositoryTest {
+
+    @Autowired
+    private ProyectoRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void findDtoById_returnsColumnsAndVersion() {
+        Proyecto proyecto = new Proyecto();
+        proyecto.setName("Encuesta");
+        proyecto.setOdooId("42");
+        proyecto = repository.saveAndFlush(proyecto);
+        entityManager.clear();
+
+        ProyectoDto dto = repository.findDtoById(proyecto.getId()).orElseThrow();
+
+        assertEquals(proyecto.getId(), dto.id());
+        assertEquals("Encuesta", dto.name());
+        assertEquals("42", dto.odooId());
+        assertEquals(proyecto.getVersion(), dto.version());
+        assertTrue(repository.findDtoById(proyecto.getId() + 1).isEmpty());
+    }
+
+    @Test
+    void findTableVersion_changesOnUpdate() {
+        Proyecto proyecto = new Proyecto();
+        proyecto.setName("Encuesta");
+        proyecto = repository.saveAndFlush(proyecto);
+        TableVersion before = repository.findTableVersion();
+
+        proyecto.setName("Encuesta 2");
+        repository.saveAndFlush(proyecto);
+
+        assertEquals(1L, before.rowCount());
+        assertNotEquals(before, repository.findTableVersion());
+    }
+}
@@ -0,0 +1,24 @@
+package uy.com.bay.cruds.data;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SearchTextTest {
+
+    @Test
+    void fold_stripsAccentsCaseAndExtraSpaces() {
+        assertEquals("gonzalez", SearchText.fold("González"));
+        assertEquals("maria ines nunez", SearchText.fold("  MARÍA   Inés Núñez "));
+        assertEquals("muller", SearchText.fold("Müller"));
+        assertNull(SearchText.fold(null));
+    }
+
+    @Test
+    void digits_keepsOnlyDigits() {
+        assertEquals("12345678", SearchText.digits("1.234.567-8"));
+        assertEquals("", SearchText.digits("s/n"));
+        assertNull(SearchText.digits(null));
+    }
+}
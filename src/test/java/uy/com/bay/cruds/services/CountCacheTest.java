@@ -0,0 +1,69 @@
+package uy.com.bay.cruds.services;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import uy.com.bay.cruds.data.Encuestador;
+import uy.com.bay.cruds.data.Proyecto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CountCacheTest {
+
+    private final CountCache countCache = new CountCache(Duration.ofSeconds(30));
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @Test
+    void get_withEqualFilter_reusesCount() {
+        count(FieldFilters.startsWith("name", "Enc"));
+        int count = count(FieldFilters.startsWith("name", "Enc"));
+
+        assertEquals(1, count);
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void get_afterInvalidate_countsAgain() {
+        count(null);
+        countCache.invalidate(Encuestador.class);
+        count(null);
+        countCache.invalidate(Proyecto.class);
+        count(null);
+
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void invalidate_insideTransaction_thenTakesEffectOnCommit() {
+        count(null);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            countCache.invalidate(Proyecto.class);
+            count(null);
+            assertEquals(1, queries.get());
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        count(null);
+
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void get_withLambdaFilter_isNotCached() {
+        Specification<Proyecto> filter = (root, query, cb) -> cb.isNotNull(root.get("odooId"));
+        count(filter);
+        count(filter);
+
+        assertEquals(2, queries.get());
+    }
+
+    private int count(Specification<?> filter) {
+        return countCache.get(Proyecto.class, filter, 100, queries::incrementAndGet);
+    }
+}
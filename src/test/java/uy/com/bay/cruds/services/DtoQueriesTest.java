@@ -0,0 +1,117 @@
+package uy.com.bay.cruds.services;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import uy.com.bay.cruds.data.Proyecto;
+import uy.com.bay.cruds.data.ProyectoDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+// data.sql is empty, which the script initializer rejects; Application's initializer bean needs it enabled
+@TestPropertySource(properties = "spring.sql.init.data-locations=optional:classpath:no-such-data.sql")
+class DtoQueriesTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 5; i++) {
+            Proyecto proyecto = new Proyecto();
+            proyecto.setName("Proyecto " + i);
+            proyecto.setAlchemerId(i % 2 == 0 ? "EVEN-" + i : "ODD-" + i);
+            entityManager.persist(proyecto);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void list_projectsMatchingRowsWithoutLoadingEntities() {
+        List<ProyectoDto> rows = DtoQueries.list(entityManager, Proyecto.class, ProyectoDto.class,
+                FieldFilters.startsWith("alchemerId", "ODD"), Sort.by(Sort.Direction.DESC, "name"), 2);
+
+        assertEquals(List.of("Proyecto 5", "Proyecto 3"), rows.stream().map(ProyectoDto::name).toList());
+        assertEquals("ODD-5", rows.get(0).alchemerId());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void list_withoutLimit_thenReturnsEveryRow() {
+        assertEquals(5, DtoQueries.list(entityManager, Proyecto.class, ProyectoDto.class, null, Sort.by("id"), 0)
+                .size());
+    }
+
+    @Test
+    void stream_readsMatchingRowsInOrder() {
+        try (Stream<ProyectoDto> rows = DtoQueries.stream(entityManager, Proyecto.class, ProyectoDto.class,
+                FieldFilters.startsWith("alchemerId", "EVEN"), Sort.by("name"))) {
+            assertEquals(List.of("Proyecto 2", "Proyecto 4"), rows.map(ProyectoDto::name).toList());
+        }
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void slice_readsOnePageAndWhetherAnotherFollows() {
+        Slice<Proyecto> first = DtoQueries.slice(entityManager, Proyecto.class, null,
+                PageRequest.of(0, 2, Sort.by("name")));
+        Slice<Proyecto> last = DtoQueries.slice(entityManager, Proyecto.class, null,
+                PageRequest.of(2, 2, Sort.by("name")));
+
+        assertEquals(List.of("Proyecto 1", "Proyecto 2"), names(first));
+        assertTrue(first.hasNext());
+        assertEquals(List.of("Proyecto 5"), names(last));
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void slice_appliesFilter() {
+        Slice<Proyecto> odd = DtoQueries.slice(entityManager, Proyecto.class,
+                FieldFilters.startsWith("alchemerId", "ODD"), PageRequest.of(0, 3, Sort.by("name")));
+
+        assertEquals(List.of("Proyecto 1", "Proyecto 3", "Proyecto 5"), names(odd));
+        assertFalse(odd.hasNext());
+    }
+
+    @Test
+    void countUpTo_stopsOnePastTheLimit() {
+        assertEquals(5, DtoQueries.countUpTo(entityManager, Proyecto.class, null, 10));
+        assertEquals(4, DtoQueries.countUpTo(entityManager, Proyecto.class, null, 3));
+        assertEquals(2, DtoQueries.countUpTo(entityManager, Proyecto.class,
+                FieldFilters.startsWith("alchemerId", "EVEN"), 10));
+    }
+
+    @Test
+    void list_afterId_walksTheTableInIdOrder() {
+        List<Long> ids = new ArrayList<>();
+        Long after = null;
+        List<ProyectoDto> page;
+        do {
+            page = DtoQueries.list(entityManager, Proyecto.class, ProyectoDto.class, FieldFilters.idAfter(after),
+                    Sort.by("id"), 2);
+            page.forEach(row -> ids.add(row.id()));
+            after = page.isEmpty() ? after : page.get(page.size() - 1).id();
+        } while (page.size() == 2);
+
+        assertEquals(5, ids.size());
+        assertEquals(ids.stream().sorted().distinct().toList(), ids);
+    }
+
+    private static List<String> names(Slice<Proyecto> slice) {
+        return slice.getContent().stream().map(Proyecto::getName).toList();
+    }
+}
@@ -0,0 +1,113 @@
+package uy.com.bay.cruds.services;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import uy.com.bay.cruds.data.Encuestador;
+import uy.com.bay.cruds.services.EncuestadorImportService.Result;
+import uy.com.bay.cruds.services.EncuestadorImportService.Row;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EncuestadorImportServiceTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private EntityManager entityManager;
+
+    private EncuestadorImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new EncuestadorImportService(transactionManager, new CountCache(Duration.ofSeconds(30)),
+                new SearchIndex(), 50);
+        ReflectionTestUtils.setField(importService, "entityManager", entityManager);
+    }
+
+    @Test
+    void importRows_insertsValidRowsInChunksAndReportsInvalidOnes() {
+        List<Row> rows = new ArrayList<>(LongStream.rangeClosed(1, 2500)
+                .mapToObj(i -> new Row(i, "Ana", "González", "1.234.567-" + (i % 10)))
+                .toList());
+        rows.set(9, new Row(10, "Ana", " ", "12345678"));
+        rows.set(19, new Row(20, "Ana", "Pérez", "ABC"));
+
+        Result result = importService.importRows(rows.iterator());
+
+        assertEquals(2498, result.imported());
+        assertEquals(2, result.failed());
+        assertEquals(10, result.errors().get(0).row());
+        assertEquals("lastName is required", result.errors().get(0).message());
+        assertEquals(20, result.errors().get(1).row());
+        assertNull(result.aborted());
+        verify(entityManager, times(2498)).persist(any(Encuestador.class));
+        // Three chunks (1000, 1000, 498), one transaction each
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void importRows_whenChunkIsRejected_retriesRowByRow() {
+        doAnswer(invocation -> {
+            if (invocation.<Encuestador>getArgument(0).getCi().equals("99")) {
+                throw new PersistenceException("Data too long for column 'ci'");
+            }
+            return null;
+        }).when(entityManager).persist(any(Encuestador.class));
+        List<Row> rows = List.of(new Row(1, "Ana", "Pérez", "11"), new Row(2, "Juan", "Rodríguez", "99"),
+                new Row(3, "Inés", "Silva", "33"));
+
+        Result result = importService.importRows(rows.iterator());
+
+        assertEquals(2, result.imported());
+        assertEquals(1, result.failed());
+        assertEquals(2, result.errors().get(0).row());
+        assertEquals("Data too long for column 'ci'", result.errors().get(0).message());
+    }
+
+    @Test
+    void importRows_whenInputBreaks_keepsRowsReadSoFar() {
+        Iterator<Row> rows = new Iterator<>() {
+            private int read;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Row next() {
+                if (++read > 3) {
+                    throw new UncheckedIOException(new IOException("Unexpected end-of-input"));
+                }
+                return new Row(read, "Ana", "Pérez", String.valueOf(read));
+            }
+        };
+
+        Result result = importService.importRows(rows);
+
+        assertEquals(3, result.imported());
+        assertNotNull(result.aborted());
+        verify(entityManager, times(3)).persist(any(Encuestador.class));
+    }
+}
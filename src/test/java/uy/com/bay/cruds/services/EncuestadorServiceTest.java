@@ -0,0 +1,72 @@
+package uy.com.bay.cruds.services;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.TestPropertySource;
+import uy.com.bay.cruds.data.Encuestador;
+import uy.com.bay.cruds.data.EncuestadorRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+// data.sql is empty, which the script initializer rejects; Application's initializer bean needs it enabled
+@TestPropertySource(properties = "spring.sql.init.data-locations=optional:classpath:no-such-data.sql")
+class EncuestadorServiceTest {
+
+    @Autowired
+    private EncuestadorRepository repository;
+
+    private EncuestadorService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new EncuestadorService(repository, new CountCache(Duration.ofSeconds(30)), mock(SearchIndex.class));
+        save("María José", "González", "1.234.567-8");
+        save("Mario", "GONZALEZ", "2.345.678-9");
+        save("Ana", "Pérez", "3.456.789-0");
+    }
+
+    @Test
+    void search_onNames_isAccentAndCaseInsensitive() {
+        assertEquals(List.of("María José", "Mario"), firstNames(service.search("MARI", null, null)));
+        assertEquals(List.of("María José", "Mario"), firstNames(service.search(null, "gonzález", null)));
+        assertEquals(List.of("Ana"), firstNames(service.search(null, "PER", null)));
+    }
+
+    @Test
+    void search_collapsesWhitespaceInTheTerm() {
+        assertEquals(List.of("María José"), firstNames(service.search(" maria   jo", null, null)));
+    }
+
+    @Test
+    void search_onCi_matchesDigitsOnly() {
+        assertEquals(List.of("María José"), firstNames(service.search(null, null, "1234567")));
+        assertEquals(List.of("Mario"), firstNames(service.search(null, null, "2.345")));
+    }
+
+    @Test
+    void search_combinesTermsAndIgnoresBlankOnes() {
+        assertEquals(List.of("Ana"), firstNames(service.search("ana", "perez", "3")));
+        assertEquals(List.of(), firstNames(service.search("ana", "gonzalez", null)));
+        assertEquals(3, firstNames(service.search("  ", null, "")).size());
+    }
+
+    private void save(String firstName, String lastName, String ci) {
+        Encuestador encuestador = new Encuestador();
+        encuestador.setFirstName(firstName);
+        encuestador.setLastName(lastName);
+        encuestador.setCi(ci);
+        repository.saveAndFlush(encuestador);
+    }
+
+    private List<String> firstNames(Specification<Encuestador> search) {
+        return repository.findAll(search, Sort.by("id")).stream().map(Encuestador::getFirstName).toList();
+    }
+}
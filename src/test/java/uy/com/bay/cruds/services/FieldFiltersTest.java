@@ -0,0 +1,69 @@
+package uy.com.bay.cruds.services;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.TestPropertySource;
+import uy.com.bay.cruds.data.Proyecto;
+import uy.com.bay.cruds.data.ProyectoDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@DataJpaTest
+// data.sql is empty, which the script initializer rejects; Application's initializer bean needs it enabled
+@TestPropertySource(properties = "spring.sql.init.data-locations=optional:classpath:no-such-data.sql")
+class FieldFiltersTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        for (String name : List.of("50% off", "500 offers", "a_b", "axb", "hey!", "hey!!", "Encuesta")) {
+            Proyecto proyecto = new Proyecto();
+            proyecto.setName(name);
+            entityManager.persist(proyecto);
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void startsWithAndContains_matchWildcardsAndEscapeLiterally() {
+        assertEquals(List.of("50% off"), names(FieldFilters.startsWith("name", "50%")));
+        assertEquals(List.of("a_b"), names(FieldFilters.contains("name", "_")));
+        assertEquals(List.of("hey!", "hey!!"), names(FieldFilters.startsWith("name", "hey!")));
+        assertEquals(List.of("hey!!"), names(FieldFilters.contains("name", "!!")));
+        assertEquals(List.of("Encuesta"), names(FieldFilters.startsWith("name", "Enc")));
+    }
+
+    @Test
+    void allOf_andsPartsAndSkipsNulls() {
+        assertEquals(List.of("500 offers"), names(FieldFilters.allOf(FieldFilters.startsWith("name", "50"),
+                null, FieldFilters.contains("name", "offers"))));
+        assertEquals(7, names(FieldFilters.<Proyecto>allOf()).size());
+    }
+
+    @Test
+    void equalFilters_areEqual() {
+        assertEquals(FieldFilters.startsWith("name", "a"), FieldFilters.startsWith("name", "a"));
+        assertNotEquals(FieldFilters.startsWith("name", "a"), FieldFilters.contains("name", "a"));
+    }
+
+    @Test
+    void escapeLike_escapesEscapeCharacterAndWildcards() {
+        assertEquals("!!!%!_x", FieldFilters.escapeLike("!%_x"));
+    }
+
+    private List<String> names(Specification<Proyecto> filter) {
+        return DtoQueries.list(entityManager, Proyecto.class, ProyectoDto.class, filter, Sort.by("name"), 0)
+                .stream()
+                .map(ProyectoDto::name)
+                .toList();
+    }
+}
@@ -0,0 +1,125 @@
+package uy.com.bay.cruds.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uy.com.bay.cruds.data.JobLeaseRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+// data.sql is empty, which the script initializer rejects; Application's initializer bean needs it enabled
+@TestPropertySource(properties = "spring.sql.init.data-locations=optional:classpath:no-such-data.sql")
+// The lease updates commit on their own, as they do in production
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobLeaseServiceTest {
+
+    private static final String JOB = "odoo-sync";
+    private static final String SLOT = "2024-03-02T10:00:00Z";
+
+    @Autowired
+    private JobLeaseRepository repository;
+
+    private final AtomicInteger runs = new AtomicInteger();
+    private JobLeaseService nodeA;
+    private JobLeaseService nodeB;
+    private SimpleMeterRegistry nodeBMeters;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        nodeA = new JobLeaseService(repository, new SimpleMeterRegistry(), Duration.ofMinutes(50), "node-a");
+        nodeBMeters = new SimpleMeterRegistry();
+        nodeB = new JobLeaseService(repository, nodeBMeters, Duration.ofMinutes(50), "node-b");
+    }
+
+    @Test
+    void runExclusively_afterManualRun_thenLateScheduledRunOfSameSlotIsSkipped() {
+        assertTrue(nodeA.runExclusively(JOB, SLOT, lease -> runs.incrementAndGet()));
+        assertTrue(nodeA.runUnscheduled(JOB, "manual:1", lease -> runs.incrementAndGet()));
+
+        assertFalse(nodeB.runExclusively(JOB, SLOT, lease -> runs.incrementAndGet()));
+        assertEquals(2, runs.get());
+        assertEquals(SLOT, repository.findByJobName(JOB).orElseThrow().getScheduledSlot());
+    }
+
+    @Test
+    void runExclusively_afterManualRun_thenNextSlotStillRuns() {
+        assertTrue(nodeA.runUnscheduled(JOB, "manual:1", lease -> runs.incrementAndGet()));
+
+        assertTrue(nodeB.runExclusively(JOB, SLOT, lease -> runs.incrementAndGet()));
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void runUnscheduled_whileScheduledRunHoldsTheLease_thenIsSkipped() {
+        nodeA.runExclusively(JOB, SLOT,
+                held -> assertFalse(nodeB.runUnscheduled(JOB, "manual:1", lease -> runs.incrementAndGet())));
+
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void runExclusively_whileManualRunHoldsTheLease_thenSlotJoinsThatRun() {
+        nodeA.runUnscheduled(JOB, "manual:1",
+                held -> assertFalse(nodeB.runExclusively(JOB, SLOT, lease -> runs.incrementAndGet())));
+
+        assertEquals(SLOT, repository.findByJobName(JOB).orElseThrow().getScheduledSlot());
+        assertEquals(1, nodeBMeters.get("jobs.lease.skipped").tag("reason", "joined").counter().count());
+        assertFalse(nodeA.runExclusively(JOB, SLOT, lease -> runs.incrementAndGet()));
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void renew_whileHeld_thenPushesTheExpiryOut() {
+        JobLeaseService shortLease = new JobLeaseService(repository, new SimpleMeterRegistry(),
+                Duration.ofSeconds(2), "node-a");
+        List<LocalDateTime> expiries = new ArrayList<>();
+
+        shortLease.runExclusively(JOB, SLOT, lease -> {
+            expiries.add(repository.findByJobName(JOB).orElseThrow().getExpiresAt());
+            sleep(300);
+            lease.renew();
+            expiries.add(repository.findByJobName(JOB).orElseThrow().getExpiresAt());
+        });
+
+        assertTrue(expiries.get(1).isAfter(expiries.get(0)), expiries.toString());
+    }
+
+    @Test
+    void renew_afterLeaseTakenOver_thenFailsTheRun() {
+        JobLeaseService shortLease = new JobLeaseService(repository, new SimpleMeterRegistry(),
+                Duration.ofMillis(200), "node-a");
+
+        shortLease.runUnscheduled(JOB, "manual:1", lease -> {
+            sleep(300);
+            // The lease expired; another node takes it over
+            assertTrue(nodeB.runUnscheduled(JOB, "manual:2", other -> runs.incrementAndGet()));
+            assertThrows(IllegalStateException.class, lease::renew);
+        });
+
+        assertEquals(1, runs.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
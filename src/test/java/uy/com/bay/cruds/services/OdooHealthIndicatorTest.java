@@ -0,0 +1,32 @@
+package uy.com.bay.cruds.services;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import uy.com.bay.cruds.services.odoo.OdooCircuitBreaker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OdooHealthIndicatorTest {
+
+    @Mock
+    private OdooService odooService;
+
+    @Test
+    void health_whenCircuitIsOpen_thenStaysUpWithTheStateInTheDetails() {
+        OdooCircuitBreaker circuitBreaker = new OdooCircuitBreaker(1, Duration.ofMinutes(1), Duration.ofMinutes(5));
+        circuitBreaker.onFailure();
+        when(odooService.getCircuitBreaker()).thenReturn(circuitBreaker);
+
+        Health health = new OdooHealthIndicator(odooService).health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(OdooCircuitBreaker.State.OPEN, health.getDetails().get("circuit"));
+    }
+}
@@ -3,6 +3,8 @@ package uy.com.bay.cruds.services;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -11,9 +13,18 @@ import org.mockito.quality.Strictness;
 
 // Imports for XmlRpcClient, MalformedURLException etc. if we were to mock them
 import uy.com.bay.cruds.config.OdooConfig;
+import uy.com.bay.cruds.services.odoo.FakeOdooServer;
+import uy.com.bay.cruds.services.odoo.OdooCircuitBreaker;
+import java.io.IOException;
+import java.net.ConnectException;
 import java.net.MalformedURLException; // Keep for existing test
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import org.apache.xmlrpc.XmlRpcException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
@@ -64,14 +75,130 @@ public class OdooServiceTest {
         assertTrue(projects.isEmpty(), "Expected empty list when Odoo connection or authentication fails");
     }
 
-    // To truly test the successful data transformation logic within getOdooProjects,
-    // OdooService would need to be refactored to allow injection of mocked XmlRpcClient
-    // instances (e.g., via constructor injection or setters).
-    // Without that, testing the success path of XML-RPC calls at a unit level
-    // would require more advanced mocking tools like PowerMockito or a test-specific
-    // subclassing approach, which are beyond the scope of this current setup.
-    // The current tests focus on construction-time errors (bad URL) and runtime
-    // connection/authentication failures leading to an empty project list.
-    // Full validation of Odoo interaction logic will rely on integration testing (Step 6)
-    // or manual testing with actual Odoo credentials.
+    @Test
+    void forEachProjectPage_againstFakeOdoo_thenPagesThroughEveryProject() throws Exception {
+        try (FakeOdooServer fakeOdoo = FakeOdooServer.start()) {
+            fakeOdoo.generateProjects(1_200);
+            OdooConfig config = fakeOdooConfig(fakeOdoo);
+            config.setPageSize(500);
+            odooService = new OdooService(config);
+
+            List<Integer> pageSizes = new ArrayList<>();
+            Set<Object> ids = new HashSet<>();
+            boolean completed = odooService.forEachProjectPage(null, page -> {
+                pageSizes.add(page.size());
+                page.forEach(project -> ids.add(project.get("id")));
+            });
+
+            assertTrue(completed);
+            assertEquals(List.of(500, 500, 200), pageSizes);
+            assertEquals(1_200, ids.size());
+            assertEquals(1, fakeOdoo.getAuthenticateCalls());
+            odooService.close();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(OdooConfig.Protocol.class)
+    void forEachProjectPage_whenOdooRejectsCachedUid_thenReauthenticatesOnce(OdooConfig.Protocol protocol)
+            throws Exception {
+        try (FakeOdooServer fakeOdoo = FakeOdooServer.start()) {
+            fakeOdoo.generateProjects(10);
+            OdooConfig config = fakeOdooConfig(fakeOdoo);
+            config.setProtocol(protocol);
+            odooService = new OdooService(config);
+            assertEquals(10, odooService.getOdooProjects().size());
+
+            fakeOdoo.failNextCalls(1, FakeOdooServer.ACCESS_DENIED, "odoo.exceptions.AccessDenied: Access Denied");
+
+            assertEquals(10, odooService.getOdooProjects().size());
+            assertEquals(2, fakeOdoo.getAuthenticateCalls());
+            odooService.close();
+        }
+    }
+
+    @Test
+    void forEachProjectPage_fromWatermark_thenIncludesRecordsWrittenInTheSameSecond() throws Exception {
+        try (FakeOdooServer fakeOdoo = FakeOdooServer.start()) {
+            fakeOdoo.generateProjects(3);
+            odooService = new OdooService(fakeOdooConfig(fakeOdoo));
+            String watermark = odooService.getOdooProjects().stream()
+                    .map(project -> (String) project.get("write_date"))
+                    .max(String::compareTo)
+                    .orElseThrow();
+
+            fakeOdoo.renameProjectInLastWriteSecond(1, "Renamed");
+            List<Object> names = new ArrayList<>();
+            odooService.forEachProjectPage(watermark, page -> page.forEach(project -> names.add(project.get("name"))));
+
+            assertTrue(names.contains("Renamed"), "Record written in the watermark's second was skipped: " + names);
+            assertEquals(2, names.size());
+            odooService.close();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(OdooConfig.Transport.class)
+    void getOdooProjects_whenOdooPortIsClosed_thenCircuitOpens(OdooConfig.Transport transport) throws Exception {
+        OdooConfig config = new OdooConfig();
+        config.setUrl("http://127.0.0.1:" + closedPort());
+        config.setDb(FakeOdooServer.DB);
+        config.setUsername(FakeOdooServer.USERNAME);
+        config.setPassword("secret");
+        config.setTransport(transport);
+        config.setCircuitFailureThreshold(2);
+        odooService = new OdooService(config);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(odooService.getOdooProjects().isEmpty());
+        }
+
+        OdooCircuitBreaker circuitBreaker = odooService.getCircuitBreaker();
+        assertEquals(OdooCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.getRejectedCalls() > 0, "Calls after the circuit opened should not reach the network");
+        odooService.close();
+    }
+
+    @Test
+    void getOdooProjects_whenOdooAnswersWithFaults_thenCircuitStaysClosed() throws Exception {
+        try (FakeOdooServer fakeOdoo = FakeOdooServer.start()) {
+            fakeOdoo.generateProjects(10);
+            OdooConfig config = fakeOdooConfig(fakeOdoo);
+            config.setCircuitFailureThreshold(2);
+            odooService = new OdooService(config);
+            assertEquals(10, odooService.getOdooProjects().size());
+
+            fakeOdoo.failNextCalls(5, 1, "ValueError: Invalid field 'foo' on model 'project.project'");
+            for (int i = 0; i < 5; i++) {
+                odooService.getOdooProjects();
+            }
+
+            assertEquals(OdooCircuitBreaker.State.CLOSED, odooService.getCircuitBreaker().getState());
+            odooService.close();
+        }
+    }
+
+    @Test
+    void isOdooUnreachable_separatesTransportFailuresFromOdooFaults() {
+        assertTrue(OdooService.isOdooUnreachable(
+                new XmlRpcException("Failed to read server's response: Connection refused", new ConnectException())));
+        assertTrue(OdooService.isOdooUnreachable(new IOException("Read timed out")));
+        assertFalse(OdooService.isOdooUnreachable(new XmlRpcException(1, "ValueError: Invalid field")));
+        assertFalse(OdooService.isOdooUnreachable(new XmlRpcException(FakeOdooServer.ACCESS_DENIED, "Access Denied")));
+    }
+
+    private static int closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static OdooConfig fakeOdooConfig(FakeOdooServer fakeOdoo) {
+        OdooConfig config = new OdooConfig();
+        config.setUrl(fakeOdoo.getUrl());
+        config.setDb(FakeOdooServer.DB);
+        config.setUsername(FakeOdooServer.USERNAME);
+        config.setPassword(fakeOdoo.getPassword());
+        return config;
+    }
 }
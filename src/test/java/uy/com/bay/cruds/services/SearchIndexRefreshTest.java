@@ -0,0 +1,90 @@
+package uy.com.bay.cruds.services;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uy.com.bay.cruds.data.Proyecto;
+import uy.com.bay.cruds.services.SearchIndex.Hit;
+import uy.com.bay.cruds.services.SearchIndex.Kind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+// data.sql is empty, which the script initializer rejects; Application's initializer bean needs it enabled
+@TestPropertySource(properties = "spring.sql.init.data-locations=optional:classpath:no-such-data.sql")
+@Import(SearchIndex.class)
+// Rows are written as another node would, committed and without telling the index
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SearchIndexRefreshTest {
+
+    private static final Set<Kind> ALL = EnumSet.allOf(Kind.class);
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        insertProyecto("Encuesta Nacional");
+        searchIndex.run(null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from proyecto");
+    }
+
+    @Test
+    void refresh_whenTableChangedElsewhere_thenReloadsIt() {
+        jdbcTemplate.update("delete from proyecto where name = 'Encuesta Nacional'");
+        insertProyecto("Censo Agropecuario");
+
+        searchIndex.refresh();
+
+        assertEquals(List.of(), titles(searchIndex.search("nacional", ALL, 10)));
+        assertEquals(List.of("Censo Agropecuario"), titles(searchIndex.search("censo", ALL, 10)));
+    }
+
+    @Test
+    void refresh_whenRowUpdatedElsewhere_thenReloadsIt() {
+        jdbcTemplate.update("update proyecto set name = 'Encuesta Regional', version = version + 1");
+
+        searchIndex.refresh();
+
+        assertEquals(List.of("Encuesta Regional"), titles(searchIndex.search("encuesta", ALL, 10)));
+    }
+
+    @Test
+    void refresh_whenNothingChanged_thenKeepsTheIndexAsItIs() {
+        // Only in memory: a reload would drop it
+        Proyecto unsaved = new Proyecto();
+        unsaved.setId(-1L);
+        unsaved.setName("Solo en memoria");
+        searchIndex.put(unsaved);
+
+        searchIndex.refresh();
+
+        assertEquals(List.of("Solo en memoria"), titles(searchIndex.search("memoria", ALL, 10)));
+    }
+
+    private void insertProyecto(String name) {
+        jdbcTemplate.update("insert into proyecto (id, version, name) values (next value for idgenerator, 0, ?)",
+                name);
+    }
+
+    private static List<String> titles(List<Hit> hits) {
+        return hits.stream().map(Hit::title).toList();
+    }
+}
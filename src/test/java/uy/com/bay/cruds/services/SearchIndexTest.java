@@ -0,0 +1,78 @@
+package uy.com.bay.cruds.services;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uy.com.bay.cruds.data.Encuestador;
+import uy.com.bay.cruds.data.Proyecto;
+import uy.com.bay.cruds.data.User;
+import uy.com.bay.cruds.services.SearchIndex.Hit;
+import uy.com.bay.cruds.services.SearchIndex.Kind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchIndexTest {
+
+    private static final Set<Kind> ALL = EnumSet.allOf(Kind.class);
+
+    private final SearchIndex searchIndex = new SearchIndex();
+
+    @BeforeEach
+    void setUp() {
+        searchIndex.put(proyecto(1L, "Encuesta de Opinión Pública", "ALC-12345"));
+        searchIndex.put(proyecto(2L, "Opinión", null));
+        Encuestador encuestador = new Encuestador();
+        encuestador.setId(1L);
+        encuestador.setFirstName("María Inés");
+        encuestador.setLastName("González");
+        encuestador.setCi("1.234.567-8");
+        searchIndex.put(encuestador);
+        User user = new User();
+        user.setId(5L);
+        user.setUsername("mgonzalez");
+        user.setName("Marta González");
+        searchIndex.put(user);
+    }
+
+    @Test
+    void search_findsFragmentsAcrossKindsIgnoringAccents() {
+        assertEquals(List.of(Kind.USUARIO, Kind.ENCUESTADOR), kinds(searchIndex.search("gonz", ALL, 10)));
+        assertEquals(1L, searchIndex.search("1234567", ALL, 10).get(0).id());
+        assertEquals(1L, searchIndex.search("alc-123", ALL, 10).get(0).id());
+        assertEquals(1, searchIndex.search("opin publ", ALL, 10).size());
+        assertTrue(searchIndex.search("zzz", ALL, 10).isEmpty());
+    }
+
+    @Test
+    void search_ranksWholeWordsFirstAndFiltersKinds() {
+        List<Hit> hits = searchIndex.search("opinion", ALL, 10);
+
+        assertEquals(2L, hits.get(0).id());
+        assertEquals(List.of(Kind.ENCUESTADOR), kinds(searchIndex.search("gonz", EnumSet.of(Kind.ENCUESTADOR), 10)));
+        assertEquals(1, searchIndex.search("gonz", ALL, 1).size());
+    }
+
+    @Test
+    void putAndRemove_updateTheIndex() {
+        searchIndex.put(proyecto(1L, "Otra cosa", null));
+        searchIndex.remove(Kind.PROYECTO, 2L);
+
+        assertTrue(searchIndex.search("opinion", ALL, 10).isEmpty());
+        assertEquals("Otra cosa", searchIndex.search("otra", ALL, 10).get(0).title());
+    }
+
+    private static Proyecto proyecto(Long id, String name, String alchemerId) {
+        Proyecto proyecto = new Proyecto();
+        proyecto.setId(id);
+        proyecto.setName(name);
+        proyecto.setAlchemerId(alchemerId);
+        return proyecto;
+    }
+
+    private static List<Kind> kinds(List<Hit> hits) {
+        return hits.stream().map(Hit::kind).toList();
+    }
+}
@@ -0,0 +1,510 @@
+package uy.com.bay.cruds.services.odoo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Minimal stand-in for an Odoo server, speaking just enough XML-RPC on
+ * {@code /xmlrpc/2/common} and {@code /xmlrpc/2/object}, and JSON-RPC on
+ * {@code /jsonrpc}, for the project sync: {@code authenticate} and
+ * {@code execute_kw(project.project, search_read)} with {@code id >} /
+ * {@code write_date >=} domains and a {@code limit}. Records are generated
+ * in memory; latency, faults and HTTP errors can be injected.
+ */
+public class FakeOdooServer implements AutoCloseable {
+
+    public static final String DB = "fake";
+    public static final String USERNAME = "admin";
+    public static final int UID = 2;
+    public static final int ACCESS_DENIED = 3;
+
+    private static final DateTimeFormatter WRITE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final LocalDateTime FIRST_WRITE_DATE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final NavigableMap<Integer, Map<String, Object>> projects = new ConcurrentSkipListMap<>();
+    private final AtomicInteger authenticateCalls = new AtomicInteger();
+    private final AtomicInteger executeKwCalls = new AtomicInteger();
+    private final AtomicInteger faultsRemaining = new AtomicInteger();
+    private final AtomicInteger httpErrorsRemaining = new AtomicInteger();
+    private final AtomicLong replyBytes = new AtomicLong();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private volatile int httpErrorStatus;
+    private volatile int faultCode;
+    private volatile String faultString;
+    private volatile Duration latency = Duration.ZERO;
+    private volatile String password = "secret";
+    private LocalDateTime lastWriteDate = FIRST_WRITE_DATE;
+
+    private FakeOdooServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/xmlrpc/2/common", exchange -> handle(exchange, this::common));
+        server.createContext("/xmlrpc/2/object", exchange -> handle(exchange, this::object));
+        server.createContext("/jsonrpc", this::handleJsonRpc);
+    }
+
+    /** Starts a server on a free loopback port. */
+    public static FakeOdooServer start() throws IOException {
+        FakeOdooServer fake = new FakeOdooServer();
+        fake.server.start();
+        return fake;
+    }
+
+    public String getUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    /** Changes the accepted password; calls still using the old one get an AccessDenied fault. */
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    /** Delay added before every reply. */
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    /** Answers the next {@code count} calls with the given XML-RPC fault. */
+    public void failNextCalls(int count, int faultCode, String faultString) {
+        this.faultCode = faultCode;
+        this.faultString = faultString;
+        faultsRemaining.set(count);
+    }
+
+    /** Answers the next {@code count} requests with the given HTTP status and no body. */
+    public void failNextRequests(int count, int httpStatus) {
+        this.httpErrorStatus = httpStatus;
+        httpErrorsRemaining.set(count);
+    }
+
+    /** Adds {@code count} projects with consecutive ids and increasing write dates. */
+    public synchronized void generateProjects(int count) {
+        int nextId = projects.isEmpty() ? 1 : projects.lastKey() + 1;
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> project = new LinkedHashMap<>();
+            project.put("id", nextId + i);
+            project.put("name", "Project " + (nextId + i));
+            project.put("write_date", nextWriteDate());
+            projects.put(nextId + i, project);
+        }
+    }
+
+    /** Renames a project and moves its write date past every other record. */
+    public synchronized void renameProject(int id, String name) {
+        Map<String, Object> project = new LinkedHashMap<>(projects.get(id));
+        project.put("name", name);
+        project.put("write_date", nextWriteDate());
+        projects.put(id, project);
+    }
+
+    /** Renames a project within the same second as the latest write, so both share a {@code write_date}. */
+    public synchronized void renameProjectInLastWriteSecond(int id, String name) {
+        Map<String, Object> project = new LinkedHashMap<>(projects.get(id));
+        project.put("name", name);
+        project.put("write_date", lastWriteDate.format(WRITE_DATE_FORMAT));
+        projects.put(id, project);
+    }
+
+    public int getProjectCount() {
+        return projects.size();
+    }
+
+    public int getAuthenticateCalls() {
+        return authenticateCalls.get();
+    }
+
+    public int getExecuteKwCalls() {
+        return executeKwCalls.get();
+    }
+
+    /** Total size of the replies sent so far, before any compression. */
+    public long getReplyBytes() {
+        return replyBytes.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private String nextWriteDate() {
+        lastWriteDate = lastWriteDate.plusSeconds(1);
+        return lastWriteDate.format(WRITE_DATE_FORMAT);
+    }
+
+    private static class Fault extends Exception {
+        private final int code;
+
+        Fault(int code, String message) {
+            super(message);
+            this.code = code;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        Object call(String method, List<Object> params) throws Fault;
+    }
+
+    private Object common(String method, List<Object> params) throws Fault {
+        if (!"authenticate".equals(method)) {
+            throw new Fault(1, "Unsupported common method: " + method);
+        }
+        authenticateCalls.incrementAndGet();
+        boolean valid = DB.equals(params.get(0)) && USERNAME.equals(params.get(1)) && password.equals(params.get(2));
+        return valid ? UID : Boolean.FALSE;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object object(String method, List<Object> params) throws Fault {
+        if (!"execute_kw".equals(method)) {
+            throw new Fault(1, "Unsupported object method: " + method);
+        }
+        executeKwCalls.incrementAndGet();
+        if (!DB.equals(params.get(0)) || !Integer.valueOf(UID).equals(params.get(1))
+                || !password.equals(params.get(2))) {
+            throw new Fault(ACCESS_DENIED, "odoo.exceptions.AccessDenied: Access Denied");
+        }
+        String model = (String) params.get(3);
+        String modelMethod = (String) params.get(4);
+        if (!"project.project".equals(model) || !"search_read".equals(modelMethod)) {
+            throw new Fault(2, "Unsupported call: " + model + "." + modelMethod);
+        }
+        List<Object> args = (List<Object>) params.get(5);
+        Map<String, Object> kwargs = params.size() > 6 ? (Map<String, Object>) params.get(6) : Map.of();
+        return searchRead((List<Object>) args.get(0), (List<Object>) kwargs.get("fields"),
+                (Integer) kwargs.get("limit"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> searchRead(List<Object> domain, List<Object> fields, Integer limit) throws Fault {
+        int afterId = 0;
+        String fromWriteDate = null;
+        for (Object term : domain) {
+            if (!(term instanceof List)) {
+                continue; // '&' and friends; every supported term is AND-ed anyway
+            }
+            List<Object> condition = (List<Object>) term;
+            String field = (String) condition.get(0);
+            if ("id".equals(field) && ">".equals(condition.get(1))) {
+                afterId = ((Number) condition.get(2)).intValue();
+            } else if ("write_date".equals(field) && ">=".equals(condition.get(1))) {
+                fromWriteDate = (String) condition.get(2);
+            } else {
+                throw new Fault(2, "Unsupported domain term: " + condition);
+            }
+        }
+
+        List<Object> page = new ArrayList<>();
+        for (Map<String, Object> project : projects.tailMap(afterId, false).values()) {
+            if (limit != null && limit > 0 && page.size() >= limit) {
+                break;
+            }
+            if (fromWriteDate != null && ((String) project.get("write_date")).compareTo(fromWriteDate) < 0) {
+                continue;
+            }
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("id", project.get("id"));
+            if (fields != null) {
+                for (Object field : fields) {
+                    record.put((String) field, project.getOrDefault(field, Boolean.FALSE));
+                }
+            }
+            page.add(record);
+        }
+        return page;
+    }
+
+    private void handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        try (exchange) {
+            if (rejected(exchange)) {
+                return;
+            }
+            InputStream body = requestBody(exchange);
+            String reply;
+            try {
+                Element call = parse(body);
+                String method = childText(call, "methodName");
+                List<Object> params = new ArrayList<>();
+                Element paramsElement = child(call, "params");
+                if (paramsElement != null) {
+                    for (Element param : children(paramsElement)) {
+                        params.add(decode(child(param, "value")));
+                    }
+                }
+                if (faultsRemaining.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                    throw new Fault(faultCode, faultString);
+                }
+                reply = response(endpoint.call(method, params));
+            } catch (Fault e) {
+                reply = fault(e.code, e.getMessage());
+            } catch (RuntimeException e) {
+                reply = fault(1, e.toString());
+            }
+            pause();
+            send(exchange, reply, "text/xml; charset=utf-8");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handleJsonRpc(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (rejected(exchange)) {
+                return;
+            }
+            Map<String, Object> request = objectMapper.readValue(requestBody(exchange), Map.class);
+            Map<String, Object> reply = new LinkedHashMap<>();
+            reply.put("jsonrpc", "2.0");
+            reply.put("id", request.get("id"));
+            try {
+                Map<String, Object> params = (Map<String, Object>) request.get("params");
+                String service = (String) params.get("service");
+                Endpoint endpoint = switch (service) {
+                case "common" -> this::common;
+                case "object" -> this::object;
+                default -> throw new Fault(1, "Unsupported service: " + service);
+                };
+                if (faultsRemaining.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                    throw new Fault(faultCode, faultString);
+                }
+                reply.put("result", endpoint.call((String) params.get("method"), (List<Object>) params.get("args")));
+            } catch (Fault e) {
+                reply.put("error", jsonRpcError(e.getMessage()));
+            } catch (RuntimeException e) {
+                reply.put("error", jsonRpcError(e.toString()));
+            }
+            pause();
+            send(exchange, objectMapper.writeValueAsString(reply), "application/json");
+        }
+    }
+
+    /** Odoo's error object: the Python exception class goes in data.name, e.g. odoo.exceptions.AccessDenied. */
+    private static Map<String, Object> jsonRpcError(String fault) {
+        int colon = fault.indexOf(": ");
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("name", colon > 0 ? fault.substring(0, colon) : "odoo.exceptions.UserError");
+        data.put("message", colon > 0 ? fault.substring(colon + 2) : fault);
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("code", 200);
+        error.put("message", "Odoo Server Error");
+        error.put("data", data);
+        return error;
+    }
+
+    private boolean rejected(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(405, -1);
+            return true;
+        }
+        if (httpErrorsRemaining.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            exchange.sendResponseHeaders(httpErrorStatus, -1);
+            return true;
+        }
+        return false;
+    }
+
+    private static InputStream requestBody(HttpExchange exchange) throws IOException {
+        InputStream body = exchange.getRequestBody();
+        if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+            body = new GZIPInputStream(body);
+        }
+        return body;
+    }
+
+    private void pause() {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(HttpExchange exchange, String reply, String contentType) throws IOException {
+        byte[] bytes = reply.getBytes(StandardCharsets.UTF_8);
+        replyBytes.addAndGet(bytes.length);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(bytes);
+            }
+            bytes = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // XML-RPC encoding
+
+    private static Element parse(InputStream body) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            Document document = factory.newDocumentBuilder().parse(body);
+            return document.getDocumentElement();
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Malformed XML-RPC request: " + e.getMessage(), e);
+        }
+    }
+
+    private static Object decode(Element value) {
+        Element typed = firstChild(value);
+        if (typed == null) {
+            return value.getTextContent(); // a value without a type element is a string
+        }
+        String text = typed.getTextContent().trim();
+        switch (typed.getLocalName() != null ? typed.getLocalName() : typed.getTagName()) {
+            case "int":
+            case "i4":
+                return Integer.valueOf(text);
+            case "i8":
+                return Long.valueOf(text);
+            case "boolean":
+                return "1".equals(text);
+            case "double":
+                return Double.valueOf(text);
+            case "nil":
+                return null;
+            case "string":
+                return typed.getTextContent();
+            case "array": {
+                List<Object> list = new ArrayList<>();
+                Element data = child(typed, "data");
+                if (data != null) {
+                    for (Element item : children(data)) {
+                        list.add(decode(item));
+                    }
+                }
+                return list;
+            }
+            case "struct": {
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (Element member : children(typed)) {
+                    map.put(childText(member, "name"), decode(child(member, "value")));
+                }
+                return map;
+            }
+            default:
+                return text;
+        }
+    }
+
+    private static String response(Object result) {
+        StringBuilder xml = new StringBuilder("<?xml version='1.0'?>\n<methodResponse><params><param>");
+        encode(xml, result);
+        return xml.append("</param></params></methodResponse>").toString();
+    }
+
+    private static String fault(int code, String message) {
+        StringBuilder xml = new StringBuilder("<?xml version='1.0'?>\n<methodResponse><fault>");
+        Map<String, Object> fault = new LinkedHashMap<>();
+        fault.put("faultCode", code);
+        fault.put("faultString", message);
+        encode(xml, fault);
+        return xml.append("</fault></methodResponse>").toString();
+    }
+
+    private static void encode(StringBuilder xml, Object value) {
+        xml.append("<value>");
+        if (value == null || value instanceof Boolean) {
+            // Odoo answers empty fields with False rather than nil
+            xml.append("<boolean>").append(Boolean.TRUE.equals(value) ? 1 : 0).append("</boolean>");
+        } else if (value instanceof Integer || value instanceof Long) {
+            xml.append("<int>").append(value).append("</int>");
+        } else if (value instanceof Number) {
+            xml.append("<double>").append(value).append("</double>");
+        } else if (value instanceof Map<?, ?> map) {
+            xml.append("<struct>");
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                xml.append("<member><name>").append(escape(String.valueOf(entry.getKey()))).append("</name>");
+                encode(xml, entry.getValue());
+                xml.append("</member>");
+            }
+            xml.append("</struct>");
+        } else if (value instanceof Collection<?> list) {
+            xml.append("<array><data>");
+            for (Object item : list) {
+                encode(xml, item);
+            }
+            xml.append("</data></array>");
+        } else {
+            xml.append("<string>").append(escape(String.valueOf(value))).append("</string>");
+        }
+        xml.append("</value>");
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static List<Element> children(Element parent) {
+        List<Element> elements = new ArrayList<>();
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element element) {
+                elements.add(element);
+            }
+        }
+        return elements;
+    }
+
+    private static Element firstChild(Element parent) {
+        List<Element> elements = children(parent);
+        return elements.isEmpty() ? null : elements.get(0);
+    }
+
+    private static Element child(Element parent, String name) {
+        for (Element element : children(parent)) {
+            if (name.equals(element.getTagName())) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    private static String childText(Element parent, String name) {
+        Element element = child(parent, name);
+        return element != null ? element.getTextContent().trim() : null;
+    }
+}
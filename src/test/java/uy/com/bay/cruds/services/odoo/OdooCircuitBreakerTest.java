@@ -0,0 +1,78 @@
+package uy.com.bay.cruds.services.odoo;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OdooCircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private OdooCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        // random() == 0.5 means no jitter
+        circuitBreaker = new OdooCircuitBreaker(3, Duration.ofSeconds(10), Duration.ofSeconds(25), clock::get,
+                () -> 0.5);
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresAndRejectsCalls() {
+        fail(2);
+        circuitBreaker.onSuccess();
+        fail(2);
+        assertEquals(OdooCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        fail(1);
+
+        assertEquals(OdooCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(1, circuitBreaker.getRejectedCalls());
+        assertEquals(Duration.ofSeconds(10), circuitBreaker.getRetryIn());
+    }
+
+    @Test
+    void letsOneProbeThroughAfterTheOpenPeriod() {
+        fail(3);
+        advance(Duration.ofSeconds(10));
+
+        assertTrue(circuitBreaker.tryAcquire());
+        assertEquals(OdooCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+
+        circuitBreaker.onSuccess();
+        assertEquals(OdooCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void doublesTheOpenPeriodAfterEachFailedProbeUpToTheMaximum() {
+        fail(3);
+
+        advance(Duration.ofSeconds(10));
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onFailure();
+        assertEquals(Duration.ofSeconds(20), circuitBreaker.getRetryIn());
+
+        advance(Duration.ofSeconds(20));
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onFailure();
+        assertEquals(Duration.ofSeconds(25), circuitBreaker.getRetryIn());
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(circuitBreaker.tryAcquire());
+            circuitBreaker.onFailure();
+        }
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,130 @@
+package uy.com.bay.cruds.services.odoo;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OdooJsonRpcClientTest {
+
+    private final AtomicLong responseBytes = new AtomicLong();
+    private FakeOdooServer fakeOdoo;
+    private OdooHttpClientPool httpClientPool;
+    private OdooJsonRpcClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fakeOdoo = FakeOdooServer.start();
+        httpClientPool = new OdooHttpClientPool(1_000, 5_000, 4, true);
+        client = new OdooJsonRpcClient(URI.create(fakeOdoo.getUrl() + "/jsonrpc"), httpClientPool.getHttpClient(),
+                responseBytes::addAndGet);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        httpClientPool.close();
+        fakeOdoo.close();
+    }
+
+    @Test
+    void executeKwRecords_pagesThroughEveryRecordById() throws Exception {
+        fakeOdoo.generateProjects(25);
+        Object uid = authenticate();
+
+        List<Integer> pageSizes = new ArrayList<>();
+        List<Object> ids = new ArrayList<>();
+        int lastId = 0;
+        int received;
+        do {
+            List<Map<String, Object>> page = new ArrayList<>();
+            received = client.executeKwRecords(searchRead(uid, fakeOdoo.getPassword(), lastId, 10), page::add);
+            pageSizes.add(received);
+            for (Map<String, Object> record : page) {
+                ids.add(record.get("id"));
+                assertEquals("Project " + record.get("id"), record.get("name"));
+            }
+            lastId = page.isEmpty() ? lastId : ((Number) page.get(page.size() - 1).get("id")).intValue();
+        } while (received == 10);
+
+        assertEquals(List.of(10, 10, 5), pageSizes);
+        assertEquals(25, ids.size());
+        assertEquals(25, ((Number) ids.get(24)).intValue());
+    }
+
+    @Test
+    void executeKwRecords_whenPasswordChanged_thenAccessDeniedUntilReauthenticated() throws Exception {
+        fakeOdoo.generateProjects(3);
+        Object uid = authenticate();
+        fakeOdoo.setPassword("rotated");
+
+        OdooJsonRpcException denied = assertThrows(OdooJsonRpcException.class,
+                () -> client.executeKwRecords(searchRead(uid, "secret", 0, 10), record -> {
+                }));
+        assertTrue(denied.isAccessDenied());
+        assertEquals(Boolean.FALSE, client.call("common", "authenticate",
+                List.of(FakeOdooServer.DB, FakeOdooServer.USERNAME, "secret", Map.of())));
+
+        Object newUid = client.call("common", "authenticate",
+                List.of(FakeOdooServer.DB, FakeOdooServer.USERNAME, "rotated", Map.of()));
+        assertEquals(3, client.executeKwRecords(searchRead(newUid, "rotated", 0, 10), record -> {
+        }));
+    }
+
+    @Test
+    void call_whenOdooRaises_thenMapsErrorObjectToException() throws Exception {
+        Object uid = authenticate();
+        fakeOdoo.failNextCalls(1, 1, "ValueError: Invalid field 'foo' on model 'project.project'");
+
+        OdooJsonRpcException error = assertThrows(OdooJsonRpcException.class,
+                () -> client.executeKwRecords(searchRead(uid, fakeOdoo.getPassword(), 0, 10), record -> {
+                }));
+
+        assertEquals("ValueError", error.getErrorName());
+        assertEquals("ValueError: Invalid field 'foo' on model 'project.project'", error.getMessage());
+        assertFalse(error.isAccessDenied());
+    }
+
+    @Test
+    void call_whenServerAnswersHttpError_thenThrowsWithoutErrorName() {
+        fakeOdoo.failNextRequests(1, 502);
+
+        OdooJsonRpcException error = assertThrows(OdooJsonRpcException.class, this::authenticate);
+
+        assertNull(error.getErrorName());
+        assertTrue(error.getMessage().startsWith("HTTP 502"), error.getMessage());
+    }
+
+    @Test
+    void executeKwRecords_reportsTheDecodedReplySize() throws Exception {
+        fakeOdoo.generateProjects(200);
+        Object uid = authenticate();
+
+        client.executeKwRecords(searchRead(uid, fakeOdoo.getPassword(), 0, 200), record -> {
+        });
+
+        // The pool asks for gzip; the listener sees the size after decompression
+        assertEquals(fakeOdoo.getReplyBytes(), responseBytes.get());
+    }
+
+    private Object authenticate() throws Exception {
+        Object uid = client.call("common", "authenticate",
+                List.of(FakeOdooServer.DB, FakeOdooServer.USERNAME, fakeOdoo.getPassword(), Map.of()));
+        assertEquals(FakeOdooServer.UID, ((Number) uid).intValue());
+        return uid;
+    }
+
+    private static List<Object> searchRead(Object uid, String password, int afterId, int limit) {
+        return List.of(FakeOdooServer.DB, uid, password, "project.project", "search_read",
+                List.of(List.of(List.of("id", ">", afterId))), Map.of("fields", List.of("name"), "limit", limit));
+    }
+}
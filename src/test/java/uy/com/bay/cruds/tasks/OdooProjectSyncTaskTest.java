@@ -1,21 +1,32 @@
 package uy.com.bay.cruds.tasks;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import uy.com.bay.cruds.config.OdooConfig;
+import uy.com.bay.cruds.data.OdooSyncState;
 import uy.com.bay.cruds.data.Proyecto;
+import uy.com.bay.cruds.services.JobLeaseService;
 import uy.com.bay.cruds.services.OdooService;
+import uy.com.bay.cruds.services.OdooSyncStateService;
 import uy.com.bay.cruds.services.ProyectoService;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,25 +38,51 @@ public class OdooProjectSyncTaskTest {
     @Mock
     private ProyectoService proyectoService;
 
-    @InjectMocks
+    @Mock
+    private OdooSyncStateService syncStateService;
+
+    @Mock
+    private JobLeaseService jobLeaseService;
+
+    @Captor
+    private ArgumentCaptor<Collection<Proyecto>> savedCaptor;
+
     private OdooProjectSyncTask odooProjectSyncTask;
+    private SimpleMeterRegistry meterRegistry;
 
     private List<Map<String, Object>> odooProjectsList;
     private List<Proyecto> existingProyectosList;
+    private OdooSyncState syncState;
 
     @BeforeEach
     void setUp() {
         odooProjectsList = new ArrayList<>();
         existingProyectosList = new ArrayList<>();
+        syncState = new OdooSyncState();
+        meterRegistry = new SimpleMeterRegistry();
+        syncState.setSyncName(ProyectoSyncDefinition.SYNC_NAME);
+        lenient().when(syncStateService.getOrCreate(ProyectoSyncDefinition.SYNC_NAME)).thenReturn(syncState);
+
+        OdooSyncEngine syncEngine = new OdooSyncEngine(odooService, syncStateService,
+                List.of(new ProyectoSyncDefinition(proyectoService)), new OdooConfig(), meterRegistry);
+        // Runs synchronously on the calling thread
+        odooProjectSyncTask = new OdooProjectSyncTask(
+                new OdooSyncCoordinator(syncEngine, jobLeaseService, Runnable::run));
+        // This node always wins the lease
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<JobLeaseService.Lease>>getArgument(2).accept(() -> {
+            });
+            return true;
+        }).when(jobLeaseService).runExclusively(eq(OdooSyncCoordinator.JOB_NAME), any(), any());
     }
 
     @Test
     void syncOdooProjects_whenNoOdooProjects_thenNoNewProjectsSaved() {
-        when(odooService.getOdooProjects()).thenReturn(Collections.emptyList());
+        givenOdooPages();
 
         odooProjectSyncTask.syncOdooProjects();
 
-        verify(proyectoService, never()).save(any(Proyecto.class));
+        verify(proyectoService, never()).saveAll(any());
     }
 
     @Test
@@ -55,15 +92,15 @@ public class OdooProjectSyncTaskTest {
         newOdooProject.put("name", "New Odoo Project");
         odooProjectsList.add(newOdooProject);
 
-        when(odooService.getOdooProjects()).thenReturn(odooProjectsList);
-        when(proyectoService.findAll()).thenReturn(Collections.emptyList());
-        // Mock the save operation to return the saved entity, if needed by other logic not present here
-        when(proyectoService.save(any(Proyecto.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
+        givenOdooPages(odooProjectsList);
+        when(proyectoService.findOdooFingerprints(any())).thenReturn(Collections.emptyMap());
 
         odooProjectSyncTask.syncOdooProjects();
 
-        verify(proyectoService, times(1)).save(argThat(p -> "odoo123".equals(p.getOdooId()) && "New Odoo Project".equals(p.getName())));
+        List<Proyecto> saved = savedProyectos();
+        assertEquals(1, saved.size());
+        assertEquals("odoo123", saved.get(0).getOdooId());
+        assertEquals("New Odoo Project", saved.get(0).getName());
     }
 
     @Test
@@ -71,12 +108,13 @@ public class OdooProjectSyncTaskTest {
         // Existing project
         Proyecto existingProyecto = new Proyecto();
         existingProyecto.setOdooId("odooExisting");
-        existingProyecto.setName("Existing Project");
+        existingProyecto.setName("Existing Project From Odoo");
+        existingProyecto.setOdooFingerprint(OdooFingerprint.of("Existing Project From Odoo"));
         existingProyectosList.add(existingProyecto);
 
         Map<String, Object> odooProjectExisting = new HashMap<>();
         odooProjectExisting.put("id", "odooExisting");
-        odooProjectExisting.put("name", "Existing Project From Odoo"); // Name might differ
+        odooProjectExisting.put("name", "Existing Project From Odoo");
         odooProjectsList.add(odooProjectExisting);
 
         Map<String, Object> odooProjectNew = new HashMap<>();
@@ -84,20 +122,23 @@ public class OdooProjectSyncTaskTest {
         odooProjectNew.put("name", "Another New Project");
         odooProjectsList.add(odooProjectNew);
 
-        when(odooService.getOdooProjects()).thenReturn(odooProjectsList);
-        when(proyectoService.findAll()).thenReturn(existingProyectosList);
-        when(proyectoService.save(any(Proyecto.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        givenOdooPages(odooProjectsList);
+        givenExistingProyectos();
 
         odooProjectSyncTask.syncOdooProjects();
 
-        verify(proyectoService, times(1)).save(any(Proyecto.class));
-        verify(proyectoService, times(1)).save(argThat(p -> "odooNew123".equals(p.getOdooId())));
-        verify(proyectoService, never()).save(argThat(p -> "odooExisting".equals(p.getOdooId())));
+        List<Proyecto> saved = savedProyectos();
+        assertEquals(1, saved.size());
+        assertEquals("odooNew123", saved.get(0).getOdooId());
+        assertEquals(2, recordCount("fetched"));
+        assertEquals(1, recordCount("inserted"));
+        assertEquals(1, recordCount("unchanged"));
+        assertTrue(meterRegistry.get("odoo.sync.last.success").gauge().value() > 0);
     }
 
 
     @Test
-    void syncOdooProjects_whenExistingProjectsFromOdoo_thenNoNewProjectsAreSaved() {
+    void syncOdooProjects_whenExistingProjectsUnchangedInOdoo_thenNothingIsSaved() {
         Map<String, Object> existingOdooProject = new HashMap<>();
         existingOdooProject.put("id", "odoo456");
         existingOdooProject.put("name", "Existing Odoo Project");
@@ -105,15 +146,46 @@ public class OdooProjectSyncTaskTest {
 
         Proyecto existingLocalProyecto = new Proyecto();
         existingLocalProyecto.setOdooId("odoo456");
+        // Local edits are kept as long as the Odoo content does not change
         existingLocalProyecto.setName("Existing Local Project");
+        existingLocalProyecto.setOdooFingerprint(OdooFingerprint.of("Existing Odoo Project"));
         existingProyectosList.add(existingLocalProyecto);
 
-        when(odooService.getOdooProjects()).thenReturn(odooProjectsList);
-        when(proyectoService.findAll()).thenReturn(existingProyectosList);
+        givenOdooPages(odooProjectsList);
+        givenExistingProyectos();
 
         odooProjectSyncTask.syncOdooProjects();
 
-        verify(proyectoService, never()).save(any(Proyecto.class));
+        // Unchanged rows are recognised from their fingerprint alone, without loading the entity
+        verify(proyectoService, never()).findByOdooIds(any());
+        verify(proyectoService, never()).saveAll(any());
+    }
+
+    @Test
+    void syncOdooProjects_whenProjectRenamedInOdoo_thenExistingRowIsUpdated() {
+        Map<String, Object> renamedOdooProject = new HashMap<>();
+        renamedOdooProject.put("id", "odoo789");
+        renamedOdooProject.put("name", "Renamed Project");
+        odooProjectsList.add(renamedOdooProject);
+
+        Proyecto existingLocalProyecto = new Proyecto();
+        existingLocalProyecto.setId(42L);
+        existingLocalProyecto.setOdooId("odoo789");
+        existingLocalProyecto.setName("Old Name");
+        existingLocalProyecto.setOdooFingerprint(OdooFingerprint.of("Old Name"));
+        existingProyectosList.add(existingLocalProyecto);
+
+        givenOdooPages(odooProjectsList);
+        givenExistingProyectos();
+        when(proyectoService.findByOdooIds(any())).thenReturn(existingProyectosList);
+
+        odooProjectSyncTask.syncOdooProjects();
+
+        List<Proyecto> saved = savedProyectos();
+        assertEquals(1, saved.size());
+        assertEquals(42L, saved.get(0).getId());
+        assertEquals("Renamed Project", saved.get(0).getName());
+        assertEquals(OdooFingerprint.of("Renamed Project"), saved.get(0).getOdooFingerprint());
     }
 
     @Test
@@ -123,12 +195,12 @@ public class OdooProjectSyncTaskTest {
         projectWithNullId.put("name", "Project With Null ID");
         odooProjectsList.add(projectWithNullId);
 
-        when(odooService.getOdooProjects()).thenReturn(odooProjectsList);
-        // No need to mock findAll or save if it's skipped before that
+        givenOdooPages(odooProjectsList);
+        // No need to mock findByOdooIds or saveAll if it's skipped before that
 
         odooProjectSyncTask.syncOdooProjects();
 
-        verify(proyectoService, never()).save(any(Proyecto.class));
+        verify(proyectoService, never()).saveAll(any());
     }
 
     @Test
@@ -138,11 +210,151 @@ public class OdooProjectSyncTaskTest {
         projectWithEmptyId.put("name", "Project With Empty ID");
         odooProjectsList.add(projectWithEmptyId);
 
-        when(odooService.getOdooProjects()).thenReturn(odooProjectsList);
+        givenOdooPages(odooProjectsList);
 
         odooProjectSyncTask.syncOdooProjects();
 
-        verify(proyectoService, never()).save(any(Proyecto.class));
+        verify(proyectoService, never()).saveAll(any());
+    }
+
+    @Test
+    void syncOdooProjects_whenFullSyncDue_thenFetchesEverythingAndRecordsHighestWriteDate() {
+        syncState.setLastWriteDate("2024-01-01 00:00:00");
+        Map<String, Object> older = new HashMap<>();
+        older.put("id", 1);
+        older.put("name", "Older");
+        older.put("write_date", "2024-03-01 10:00:00");
+        Map<String, Object> newer = new HashMap<>();
+        newer.put("id", 2);
+        newer.put("name", "Newer");
+        newer.put("write_date", "2024-03-02 08:30:00");
+        odooProjectsList.add(newer);
+        odooProjectsList.add(older);
+
+        when(syncStateService.isFullSyncDue(syncState)).thenReturn(true);
+        givenOdooPages(odooProjectsList);
+        when(proyectoService.findOdooFingerprints(any())).thenReturn(Collections.emptyMap());
+
+        odooProjectSyncTask.syncOdooProjects();
+
+        verify(odooService).forEachPage(eq("project.project"), any(), any(), isNull(), any());
+        verify(syncStateService).recordSuccess(syncState, "2024-03-02 08:30:00", true);
+    }
+
+    @Test
+    void syncOdooProjects_whenIncremental_thenOnlyRequestsRecordsAfterWatermark() {
+        syncState.setLastWriteDate("2024-03-02 08:30:00");
+        when(syncStateService.isFullSyncDue(syncState)).thenReturn(false);
+        givenOdooPages();
+
+        odooProjectSyncTask.syncOdooProjects();
+
+        verify(odooService).forEachPage(eq("project.project"), any(), any(), eq("2024-03-02 08:30:00"), any());
+        verify(syncStateService, never()).recordSuccess(any(), any(), anyBoolean());
+        verify(proyectoService, never()).saveAll(any());
+    }
+
+    @Test
+    void syncOdooProjects_whenProjectsArriveInSeveralPages_thenEveryPageIsProcessed() {
+        Map<String, Object> first = new HashMap<>();
+        first.put("id", 1);
+        first.put("name", "First");
+        Map<String, Object> second = new HashMap<>();
+        second.put("id", 2);
+        second.put("name", "Second");
+
+        givenOdooPages(List.of(first), List.of(second));
+        when(proyectoService.findOdooFingerprints(any())).thenReturn(Collections.emptyMap());
+
+        odooProjectSyncTask.syncOdooProjects();
+
+        verify(proyectoService, times(2)).findOdooFingerprints(any());
+        verify(proyectoService, times(2)).saveAll(any());
+        assertEquals(2, savedProyectos().size());
+    }
+
+    @Test
+    void syncOdooProjects_whenAnotherNodeHoldsTheLease_thenOdooIsNotCalled() {
+        doReturn(false).when(jobLeaseService).runExclusively(eq(OdooSyncCoordinator.JOB_NAME), any(), any());
+
+        odooProjectSyncTask.syncOdooProjects();
+
+        verifyNoInteractions(odooService, proyectoService);
+    }
+
+    @Test
+    void syncOdooProjects_whenFetchFails_thenWatermarkIsNotAdvanced() {
+        when(odooService.forEachPage(any(), any(), any(), any(), any())).thenReturn(false);
+
+        odooProjectSyncTask.syncOdooProjects();
+
+        verify(syncStateService, never()).recordSuccess(any(), any(), anyBoolean());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void syncOdooProjects_whenSeveralModelsAreDefined_thenEachModelIsSyncedEvenIfOneFails() {
+        OdooSyncDefinition<Proyecto> failing = mock(OdooSyncDefinition.class);
+        when(failing.name()).thenReturn("failing.model");
+        when(syncStateService.getOrCreate("failing.model")).thenThrow(new IllegalStateException("boom"));
+        OdooSyncEngine syncEngine = new OdooSyncEngine(odooService, syncStateService,
+                List.of(failing, new ProyectoSyncDefinition(proyectoService)), new OdooConfig(), meterRegistry);
+
+        Map<String, Object> newOdooProject = new HashMap<>();
+        newOdooProject.put("id", 7);
+        newOdooProject.put("name", "Parallel Project");
+        givenOdooPages(List.of(newOdooProject));
+
+        List<OdooSyncResult> results = syncEngine.runAll(() -> {
+        });
+
+        assertEquals(2, results.size());
+        assertFalse(results.get(0).completed());
+        assertTrue(results.get(1).completed());
+        assertEquals(1, results.get(1).inserted());
+        assertEquals("7", savedProyectos().get(0).getOdooId());
+    }
+
+    @Test
+    void runAll_whenLeaseIsLost_thenModelsStopWithoutAdvancingTheWatermark() {
+        OdooSyncEngine syncEngine = new OdooSyncEngine(odooService, syncStateService,
+                List.of(new ProyectoSyncDefinition(proyectoService)), new OdooConfig(), meterRegistry);
+
+        List<OdooSyncResult> results = syncEngine.runAll(() -> {
+            throw new IllegalStateException("Lease on job 'odoo-sync' was lost");
+        });
+
+        assertFalse(results.get(0).completed());
+        verifyNoInteractions(odooService);
+        verify(syncStateService, never()).recordSuccess(any(), any(), anyBoolean());
+    }
+
+    private void givenExistingProyectos() {
+        Map<String, String> fingerprints = new HashMap<>();
+        existingProyectosList.forEach(p -> fingerprints.put(p.getOdooId(), p.getOdooFingerprint()));
+        when(proyectoService.findOdooFingerprints(any())).thenReturn(fingerprints);
+    }
+
+    private double recordCount(String outcome) {
+        return meterRegistry.get("odoo.sync.records").tag("outcome", outcome).counter().count();
+    }
+
+    private List<Proyecto> savedProyectos() {
+        verify(proyectoService, atLeastOnce()).saveAll(savedCaptor.capture());
+        return savedCaptor.getAllValues().stream().flatMap(Collection::stream).toList();
+    }
+
+    @SafeVarargs
+    private void givenOdooPages(List<Map<String, Object>>... pages) {
+        when(odooService.forEachPage(eq("project.project"), any(), any(), any(), any())).thenAnswer(invocation -> {
+            Consumer<List<Map<String, Object>>> consumer = invocation.getArgument(4);
+            for (List<Map<String, Object>> page : pages) {
+                if (!page.isEmpty()) {
+                    consumer.accept(page);
+                }
+            }
+            return true;
+        });
     }
 
 }
@@ -0,0 +1,137 @@
+package uy.com.bay.cruds.tasks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uy.com.bay.cruds.config.OdooConfig;
+import uy.com.bay.cruds.data.JobLeaseRepository;
+import uy.com.bay.cruds.data.OdooSyncStateRepository;
+import uy.com.bay.cruds.data.ProyectoRepository;
+import uy.com.bay.cruds.services.CountCache;
+import uy.com.bay.cruds.services.JobLeaseService;
+import uy.com.bay.cruds.services.OdooService;
+import uy.com.bay.cruds.services.OdooSyncStateService;
+import uy.com.bay.cruds.services.ProyectoService;
+import uy.com.bay.cruds.services.SearchIndex;
+import uy.com.bay.cruds.services.odoo.FakeOdooServer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Full {@code syncOdooProjects()} runs against {@link FakeOdooServer} and an
+ * embedded H2 database, logging records/second and peak heap per size and
+ * a table of all sizes at the end. Excluded from the normal build; run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+// data.sql is empty, which the script initializer rejects; Application's initializer bean needs it enabled
+@TestPropertySource(properties = "spring.sql.init.data-locations=optional:classpath:no-such-data.sql")
+@Import({ OdooConfig.class, OdooSyncStateService.class, CountCache.class, SearchIndex.class,
+        ProyectoService.class, ProyectoSyncDefinition.class })
+// Each page commits on its own, as in production, instead of inside one test transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OdooSyncBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(OdooSyncBenchmark.class);
+
+    private record Result(int projects, double seconds, long peakHeapMb, int executeKwCalls) {
+    }
+
+    private static FakeOdooServer fakeOdoo;
+    private static final List<Result> results = new ArrayList<>();
+
+    @Autowired
+    private OdooConfig odooConfig;
+    @Autowired
+    private OdooSyncStateService syncStateService;
+    @Autowired
+    private ProyectoSyncDefinition proyectoSyncDefinition;
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+    @Autowired
+    private OdooSyncStateRepository syncStateRepository;
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @BeforeAll
+    static void startFakeOdoo() throws Exception {
+        fakeOdoo = FakeOdooServer.start();
+    }
+
+    @AfterAll
+    static void stopFakeOdoo() {
+        fakeOdoo.close();
+        StringBuilder table = new StringBuilder(String.format("%n%10s %10s %12s %14s %16s", "projects", "seconds",
+                "records/s", "peak heap MB", "execute_kw calls"));
+        for (Result result : results) {
+            table.append(String.format("%n%10d %10.2f %12d %14d %16d", result.projects(), result.seconds(),
+                    Math.round(result.projects() / result.seconds()), result.peakHeapMb(), result.executeKwCalls()));
+        }
+        logger.info("Odoo sync benchmark:{}", table);
+    }
+
+    @AfterEach
+    void clearDatabase() {
+        proyectoRepository.deleteAllInBatch();
+        syncStateRepository.deleteAllInBatch();
+        jobLeaseRepository.deleteAllInBatch();
+    }
+
+    @ParameterizedTest(name = "{0} projects")
+    @ValueSource(ints = { 1_000, 10_000, 100_000 })
+    void fullSync(int projects) {
+        fakeOdoo.generateProjects(projects - fakeOdoo.getProjectCount());
+        odooConfig.setUrl(fakeOdoo.getUrl());
+        odooConfig.setDb(FakeOdooServer.DB);
+        odooConfig.setUsername(FakeOdooServer.USERNAME);
+        odooConfig.setPassword(fakeOdoo.getPassword());
+
+        OdooService odooService = new OdooService(odooConfig);
+        OdooSyncEngine syncEngine = new OdooSyncEngine(odooService, syncStateService, List.of(proyectoSyncDefinition),
+                odooConfig, new SimpleMeterRegistry());
+        JobLeaseService jobLeaseService = new JobLeaseService(jobLeaseRepository, new SimpleMeterRegistry(),
+                Duration.ofHours(1), "benchmark");
+        OdooProjectSyncTask task = new OdooProjectSyncTask(
+                new OdooSyncCoordinator(syncEngine, jobLeaseService, Runnable::run));
+
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        int callsBefore = fakeOdoo.getExecuteKwCalls();
+        long start = System.nanoTime();
+        task.syncOdooProjects();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        Result result = new Result(projects, seconds, peakHeap / (1024 * 1024),
+                fakeOdoo.getExecuteKwCalls() - callsBefore);
+        results.add(result);
+        logger.info("Odoo sync benchmark: {} projects in {} s, {} records/s, peak heap {} MB, {} execute_kw calls",
+                projects, String.format("%.2f", seconds), Math.round(projects / seconds), result.peakHeapMb(),
+                result.executeKwCalls());
+
+        assertEquals(projects, proyectoRepository.count());
+    }
+}
@@ -0,0 +1,109 @@
+package uy.com.bay.cruds.tasks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uy.com.bay.cruds.services.JobLeaseService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OdooSyncCoordinatorTest {
+
+    @Mock
+    private OdooSyncEngine syncEngine;
+
+    @Mock
+    private JobLeaseService jobLeaseService;
+
+    // Runs handed to the executor but not started yet
+    private final List<Runnable> queued = new ArrayList<>();
+    private OdooSyncCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        coordinator = new OdooSyncCoordinator(syncEngine, jobLeaseService, queued::add);
+    }
+
+    @Test
+    void requestSync_whileRunInFlight_thenJoinsThatRun() {
+        givenLeaseWon();
+        when(syncEngine.runAll(any())).thenReturn(List.of());
+
+        OdooSyncRun first = coordinator.requestSync("alice");
+        OdooSyncRun second = coordinator.requestSync("bob");
+        OdooSyncRun scheduled = coordinator.runScheduled("2024-03-02T10:00:00Z");
+
+        assertSame(first, second);
+        assertSame(first, scheduled);
+        assertEquals(1, queued.size());
+
+        queued.remove(0).run();
+
+        verify(syncEngine, times(1)).runAll(any());
+        assertEquals(OdooSyncRun.Status.COMPLETED, first.getStatus());
+        assertTrue(first.completion().isDone());
+        assertSame(first, coordinator.findRun(first.getId()).orElseThrow());
+    }
+
+    @Test
+    void requestSync_afterRunFinished_thenStartsNewRun() {
+        givenLeaseWon();
+        when(syncEngine.runAll(any())).thenReturn(List.of());
+
+        OdooSyncRun first = coordinator.requestSync("alice");
+        queued.remove(0).run();
+        OdooSyncRun second = coordinator.requestSync("alice");
+
+        assertNotEquals(first.getId(), second.getId());
+        assertSame(second, coordinator.latestRun().orElseThrow());
+    }
+
+    @Test
+    void requestSync_whenAnotherNodeHoldsTheLease_thenRunIsSkipped() {
+        doReturn(false).when(jobLeaseService).runUnscheduled(eq(OdooSyncCoordinator.JOB_NAME), any(), any());
+
+        OdooSyncRun run = coordinator.requestSync("alice");
+        queued.remove(0).run();
+
+        assertEquals(OdooSyncRun.Status.SKIPPED, run.getStatus());
+    }
+
+    @Test
+    void runScheduled_leasesTheSlot_whileRequestSyncLeasesOutsideTheSchedule() {
+        doReturn(true).when(jobLeaseService).runExclusively(eq(OdooSyncCoordinator.JOB_NAME),
+                eq("2024-03-02T10:00:00Z"), any());
+        doReturn(true).when(jobLeaseService).runUnscheduled(eq(OdooSyncCoordinator.JOB_NAME), any(), any());
+
+        coordinator.runScheduled("2024-03-02T10:00:00Z");
+        queued.remove(0).run();
+        OdooSyncRun manual = coordinator.requestSync("alice");
+        queued.remove(0).run();
+
+        verify(jobLeaseService).runUnscheduled(eq(OdooSyncCoordinator.JOB_NAME), eq("manual:" + manual.getId()),
+                any());
+    }
+
+    private void givenLeaseWon() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<JobLeaseService.Lease>>getArgument(2).accept(() -> {
+            });
+            return true;
+        }).when(jobLeaseService).runUnscheduled(eq(OdooSyncCoordinator.JOB_NAME), any(), any());
+    }
+}
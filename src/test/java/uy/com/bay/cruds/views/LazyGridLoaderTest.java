@@ -0,0 +1,96 @@
+package uy.com.bay.cruds.views;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.server.Command;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyGridLoaderTest {
+
+    private final Grid<String> grid = new Grid<>();
+    private final AtomicReference<String> filter = new AtomicReference<>("");
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    @Test
+    void refresh_withManyRows_thenSwitchesToUndefinedSize() {
+        new LazyGridLoader<>(grid, filter::get, (f, pageable) -> List.of(), (f, limit) -> limit + 1).refresh();
+
+        assertFalse(grid.getDataCommunicator().isDefinedSize());
+        assertEquals(LazyGridLoader.LARGE_RESULT, grid.getLazyDataView().getItemCountEstimate());
+    }
+
+    @Test
+    void refresh_withFewRows_thenCountsExactly() {
+        new LazyGridLoader<>(grid, filter::get, (f, pageable) -> List.of("a", "b"), (f, limit) -> 2).refresh();
+
+        assertTrue(grid.getDataCommunicator().isDefinedSize());
+        assertEquals(List.of("a", "b"), grid.getLazyDataView().getItems().toList());
+    }
+
+    @Test
+    void filterChanged_whileLoadInFlight_thenKeepsOnlyTheNewestWithoutInterruptingTheOld() throws Exception {
+        CountDownLatch slowLoadStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlowLoad = new CountDownLatch(1);
+        CountDownLatch slowLoadDone = new CountDownLatch(1);
+        AtomicBoolean slowLoadInterrupted = new AtomicBoolean();
+        LazyGridLoader<String, String> loader = new LazyGridLoader<>(grid, filter::get, (f, pageable) -> {
+            fetches.incrementAndGet();
+            if (f.equals("slow")) {
+                slowLoadStarted.countDown();
+                try {
+                    releaseSlowLoad.await();
+                } catch (InterruptedException e) {
+                    slowLoadInterrupted.set(true);
+                } finally {
+                    slowLoadDone.countDown();
+                }
+            }
+            return List.of(f + "-1", f + "-2");
+        }, (f, limit) -> 2);
+        DirectUI ui = new DirectUI();
+        ui.add(grid);
+
+        filter.set("slow");
+        loader.filterChanged();
+        assertTrue(slowLoadStarted.await(5, TimeUnit.SECONDS));
+        filter.set("fast");
+        loader.filterChanged();
+        assertTrue(ui.applied.await(5, TimeUnit.SECONDS));
+        releaseSlowLoad.countDown();
+        assertTrue(slowLoadDone.await(5, TimeUnit.SECONDS));
+
+        assertFalse(slowLoadInterrupted.get());
+        int backgroundFetches = fetches.get();
+        // The first page comes from the prefetch of the newest filter
+        assertEquals(List.of("fast-1", "fast-2"), grid.getLazyDataView().getItems().toList());
+        assertEquals(backgroundFetches, fetches.get());
+        assertEquals(1, ui.accesses.get());
+    }
+
+    /** Runs {@link UI#access} commands on the calling thread, as no session is attached. */
+    private static class DirectUI extends UI {
+
+        final CountDownLatch applied = new CountDownLatch(1);
+        final AtomicInteger accesses = new AtomicInteger();
+
+        @Override
+        public Future<Void> access(Command command) {
+            command.execute();
+            accesses.incrementAndGet();
+            applied.countDown();
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
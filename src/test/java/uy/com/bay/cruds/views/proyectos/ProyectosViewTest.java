@@ -0,0 +1,82 @@
+package uy.com.bay.cruds.views.proyectos;
+
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.textfield.TextField;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import uy.com.bay.cruds.data.Proyecto;
+import uy.com.bay.cruds.security.AuthenticatedUser;
+import uy.com.bay.cruds.services.FieldFilters;
+import uy.com.bay.cruds.services.ProyectoService;
+import uy.com.bay.cruds.tasks.OdooSyncCoordinator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ProyectosViewTest {
+
+    @Mock
+    private ProyectoService proyectoService;
+    @Mock
+    private OdooSyncCoordinator syncCoordinator;
+    @Mock
+    private AuthenticatedUser authenticatedUser;
+
+    private ProyectosView view;
+
+    @BeforeEach
+    void setUp() {
+        view = new ProyectosView(proyectoService, syncCoordinator, authenticatedUser);
+    }
+
+    @Test
+    void createFilter_matchesNameAndObsAnywhereAndIdsByPrefix() {
+        setFilter("nameFilter", " Encuesta ");
+        setFilter("alchemerIdFilter", "ALC");
+        setFilter("doobloIdFilter", "   ");
+        setFilter("odooIdFilter", "42");
+        setFilter("obsFilter", "50%");
+
+        assertEquals(FieldFilters.allOf(FieldFilters.contains("name", "Encuesta"),
+                FieldFilters.startsWith("alchemerId", "ALC"), FieldFilters.startsWith("odooId", "42"),
+                FieldFilters.contains("obs", "50%")), createFilter());
+    }
+
+    @Test
+    void createFilter_withEmptyFields_thenMatchesEverything() {
+        assertEquals(FieldFilters.<Proyecto>allOf(), createFilter());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void grid_fetchesPagesFromTheDatabaseWithTheFilter() {
+        Proyecto proyecto = new Proyecto();
+        proyecto.setName("Encuesta");
+        doReturn(new SliceImpl<>(List.of(proyecto))).when(proyectoService).slice(any(), any());
+        setFilter("odooIdFilter", "42");
+
+        Grid<Proyecto> grid = (Grid<Proyecto>) ReflectionTestUtils.getField(view, "grid");
+
+        assertEquals(List.of(proyecto), grid.getLazyDataView().getItems().toList());
+        verify(proyectoService).slice(any(), eq(FieldFilters.allOf(FieldFilters.startsWith("odooId", "42"))));
+    }
+
+    private void setFilter(String field, String value) {
+        ((TextField) ReflectionTestUtils.getField(view, field)).setValue(value);
+    }
+
+    private Specification<Proyecto> createFilter() {
+        return ReflectionTestUtils.invokeMethod(view, "createFilter");
+    }
+}